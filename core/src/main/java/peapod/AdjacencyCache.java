@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.*;
+
+/**
+ * Cache of the adjacent vertex ids of framed vertices, for the configured edge labels only. Set it with
+ * {@link FramedGraph#setAdjacencyCache(AdjacencyCache)}; plain relation getters returning vertices then look up the
+ * cached ids instead of traversing the edges. Writes of a relation through generated setters, adders and removers, and
+ * {@link FramedElement#remove()}, drop all cached entries of the edge label, which suits relations that are read far
+ * more often than written. Within a transaction, the entries are dropped again when it commits.
+ * <pre>
+ *     graph.setAdjacencyCache(AdjacencyCache.lru(10000, "located_at", "subcategory"));
+ * </pre>
+ */
+public final class AdjacencyCache {
+
+    private final Map<String, Entries> label2Entries = new HashMap<>();
+
+    private AdjacencyCache(int maximumSize, String... edgeLabels) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        for (String edgeLabel : edgeLabels) {
+            label2Entries.put(edgeLabel, new Entries(maximumSize));
+        }
+    }
+
+    /**
+     * Creates a cache evicting the least recently used entries of an edge label beyond the maximum size.
+     *
+     * @param maximumSize the maximum number of cached vertices per edge label and direction
+     * @param edgeLabels  the labels of the cached edges
+     * @return the cache
+     */
+    public static AdjacencyCache lru(int maximumSize, String... edgeLabels) {
+        return new AdjacencyCache(maximumSize, edgeLabels);
+    }
+
+    public boolean isCached(String edgeLabel) {
+        return label2Entries.containsKey(edgeLabel);
+    }
+
+    /**
+     * @return the ids of the adjacent vertices, or {@code null} when not cached
+     */
+    public Object[] get(Object id, Direction direction, String edgeLabel) {
+        Entries entries = label2Entries.get(edgeLabel);
+        if (entries == null) {
+            return null;
+        }
+        synchronized (entries) {
+            return entries.get(new Key(id, direction));
+        }
+    }
+
+    /**
+     * @return the version of the cached entries of the edge label, which changes with every invalidation
+     */
+    public long version(String edgeLabel) {
+        Entries entries = label2Entries.get(edgeLabel);
+        if (entries == null) {
+            return 0;
+        }
+        synchronized (entries) {
+            return entries.version;
+        }
+    }
+
+    /**
+     * Caches the adjacent vertex ids read since the given version, unless the edge label was invalidated since, so
+     * that ids read before a concurrent write are not cached after it.
+     */
+    public void put(Object id, Direction direction, String edgeLabel, Object[] adjacentIds, long version) {
+        Entries entries = label2Entries.get(edgeLabel);
+        if (entries != null) {
+            synchronized (entries) {
+                if (version == entries.version) {
+                    entries.put(new Key(id, direction), adjacentIds);
+                }
+            }
+        }
+    }
+
+    public void invalidate(String edgeLabel) {
+        Entries entries = label2Entries.get(edgeLabel);
+        if (entries != null) {
+            synchronized (entries) {
+                entries.version++;
+                entries.clear();
+            }
+        }
+    }
+
+    public void clear() {
+        label2Entries.keySet().forEach(this::invalidate);
+    }
+
+    private static final class Entries extends LinkedHashMap<Key, Object[]> {
+        private final int maximumSize;
+        private long version;
+
+        private Entries(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object[]> eldest) {
+            return size() > maximumSize;
+        }
+    }
+
+    private static final class Key {
+        private final Object id;
+        private final Direction direction;
+
+        private Key(Object id, Direction direction) {
+            this.id = id;
+            this.direction = direction;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && id.equals(((Key) o).id) && direction == ((Key) o).direction;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + direction.hashCode();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod;
+
+import peapod.internal.runtime.LruElementCache;
+import peapod.internal.runtime.MappedElementCache;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level cache of the property values of framed vertices by vertex id, shared between transactions. Set it with
+ * {@link FramedGraph#setElementCache(ElementCache)}; framed vertices are then pre-filled with the cached values of
+ * their single-valued properties. Writes through generated setters, adders and removers and
+ * {@link FramedElement#remove()} invalidate the entry of the vertex.
+ * <p>Implementations must be thread-safe.</p>
+ */
+public interface ElementCache extends Closeable {
+
+    /**
+     * @return the cached property values, a {@code null} value marks a missing property, or {@code null} when not cached
+     */
+    Map<String, Object> get(Object id);
+
+    void put(Object id, Map<String, Object> properties);
+
+    /**
+     * @return the version of the cache, which changes with every invalidation
+     */
+    long version();
+
+    /**
+     * Caches the property values read since the given version, unless an entry was invalidated since, so that values
+     * read before a concurrent write are not cached after it.
+     */
+    void put(Object id, Map<String, Object> properties, long version);
+
+    void invalidate(Object id);
+
+    void clear();
+
+    /**
+     * Releases the resources held by the cache, which cannot be used afterwards.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Creates a cache evicting the least recently used entries beyond the maximum size, and entries older than the
+     * time to live.
+     *
+     * @param maximumSize the maximum number of cached vertices
+     * @param timeToLive  the time after which an entry expires
+     * @param unit        the unit of the time to live
+     * @return the cache
+     */
+    static ElementCache lru(int maximumSize, long timeToLive, TimeUnit unit) {
+        return new LruElementCache(maximumSize, unit.toNanos(timeToLive));
+    }
+
+    /**
+     * Creates a cache storing the values off-heap in a memory-mapped file. A cache opened on the file of a previous
+     * process starts with its entries that did not expire. When the file is full, all entries are dropped. The file is
+     * locked until the cache is closed.
+     *
+     * @param file       the file, created when missing
+     * @param capacity   the size of the file in bytes
+     * @param timeToLive the time after which an entry expires
+     * @param unit       the unit of the time to live
+     * @return the cache
+     */
+    static ElementCache mapped(Path file, int capacity, long timeToLive, TimeUnit unit) {
+        return new MappedElementCache(file, capacity, unit.toMillis(timeToLive));
+    }
+
+}
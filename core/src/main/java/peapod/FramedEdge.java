@@ -39,4 +39,13 @@ public interface FramedEdge extends FramedElement {
     default Edge edge() {
         return (Edge) element();
     }
+
+    /**
+     * Starts a traversal from the wrapped edge, without looking it up again.
+     * <pre>
+     *     Person person = develops.start().outV(Person.class).next();</pre>
+     */
+    default FramedGraphTraversal<Edge, Edge> start() {
+        return new FramedGraphTraversal<>(graph(), edge());
+    }
 }
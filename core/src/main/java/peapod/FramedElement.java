@@ -42,6 +42,7 @@ public interface FramedElement {
     }
 
     default void remove() {
+        graph().evict(element());
         element().remove();
     }
 
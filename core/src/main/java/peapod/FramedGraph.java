@@ -21,29 +21,47 @@
 
 package peapod;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Graph.Features;
 import org.apache.tinkerpop.gremlin.structure.Graph.Variables;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.commons.configuration.Configuration;
-import org.reflections.Reflections;
-import peapod.internal.runtime.Framer;
+import peapod.internal.runtime.FrameHelper;
 import peapod.internal.runtime.FramerRegistry;
+import peapod.internal.runtime.Hydratable;
+import peapod.internal.runtime.IdentityMap;
 import peapod.internal.runtime.IFramer;
+import peapod.internal.runtime.QueryCache;
+import peapod.internal.runtime.RelationLoader;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 /**
  * <p>A framed instance of a TinkerPop 3 graph.</p>
  * <p>Allows to query the graph and return framed objects instead of TinkerPop 3 {@code vertices} and {@code edges}</p>
- * <p>The provided package is used to recursively scan all {@code @Vertex}, {@code @VertexProperties} and {@code @Edge} classes.</p>
+ * <p>The provided package is used to recursively look up all {@code @Vertex}, {@code @VertexProperties} and {@code @Edge} classes.
+ * The framer index generated at compile-time is used for this, the classpath is only scanned when no index is found.</p>
  * <pre>
  *     FramedGraph graph = new FramedGraph(TinkerGraph.open(), Person.class.getPackage());
  *
@@ -64,13 +82,45 @@ public class FramedGraph implements AutoCloseable {
 
     private final GraphTraversalSource traversal;
 
-    private FramerRegistry registry = new FramerRegistry();
+    private final FramerRegistry registry;
+
+    private final RelationLoader loader;
+
+    private volatile IdentityMap identityMap;
+
+    /**
+     * Set for the threads whose transactions notify this framed graph.
+     */
+    private final ThreadLocal<Boolean> listening = new ThreadLocal<>();
+
+    /**
+     * The writes through this framed graph in the open transaction of the current thread, {@code null} when none.
+     */
+    private final ThreadLocal<Writes> writes = new ThreadLocal<>();
+
+    private volatile ElementCache elementCache;
+
+    private volatile AdjacencyCache adjacencyCache;
+
+    private volatile QueryCache queryCache;
 
 
     public FramedGraph(Graph graph, Package pakkage) {
+        this(graph, FramerRegistry.builder().register(pakkage).build());
+    }
+
+    /**
+     * Frames the graph with a prebuilt registry. A registry is immutable and can be shared between many framed graphs,
+     * so framing an existing graph does not look up and instantiate the framers again.
+     *
+     * @param graph    the graph to frame
+     * @param registry the framers of the model, see {@link FramerRegistry#builder()}
+     */
+    public FramedGraph(Graph graph, FramerRegistry registry) {
         this.graph = graph;
         this.traversal = graph.traversal();
-        this.registry.register(new Reflections(pakkage.getName() + ".").getTypesAnnotatedWith(Framer.class));
+        this.registry = registry;
+        this.loader = new RelationLoader(this);
     }
 
     /**
@@ -81,9 +131,7 @@ public class FramedGraph implements AutoCloseable {
      * @return The newly created labeled linked vertex
      */
     public <V> V addVertex(Class<V> clazz) {
-        IFramer<Element, V> framer = registry.get(clazz);
-        Vertex v = graph.addVertex(framer.label());
-        return framer.frameNew(v, this);
+        return addVertex(clazz, new Object[0]);
     }
 
     /**
@@ -96,9 +144,80 @@ public class FramedGraph implements AutoCloseable {
      * @see org.apache.tinkerpop.gremlin.structure.Graph.Features.ElementFeatures#supportsUserSuppliedIds()
      */
     public <V> V addVertex(Class<V> clazz, Object id) {
+        return addVertex(clazz, T.id, id);
+    }
+
+    /**
+     * Add a linked vertex of type {@link V} with the given properties to the graph.
+     * <p>The vertex is created together with the given properties and the {@link peapod.annotations.DefaultValue}
+     * defaults of the framing class in a single {@code addVertex} call, after which the {@code @PostConstruct} methods
+     * of the framing class are executed. Given properties take precedence over both kinds of defaults.</p>
+     *
+     * @param <V>       Framing class annotated with  {@link peapod.annotations.Vertex}
+     * @param clazz     a framing class annotated with {@link peapod.annotations.Vertex}
+     * @param keyValues the property key/value pairs, optionally including {@link T#id}
+     * @return The newly created labeled linked vertex
+     * @see Graph#addVertex(Object...)
+     */
+    public <V> V addVertex(Class<V> clazz, Object... keyValues) {
+        ElementHelper.legalPropertyKeyValueArray(keyValues);
         IFramer<Element, V> framer = registry.get(clazz);
-        Vertex v = graph.addVertex(T.id, id, T.label, framer.label());
-        return framer.frameNew(v, this);
+
+        Object[] defaults = framer.defaults();
+        Object[] labelAndKeyValues = new Object[keyValues.length + defaults.length + 2];
+        labelAndKeyValues[0] = T.label;
+        labelAndKeyValues[1] = framer.label();
+        System.arraycopy(keyValues, 0, labelAndKeyValues, 2, keyValues.length);
+        int length = keyValues.length + 2;
+        for (int i = 0; i < defaults.length; i = i + 2) {
+            if (!containsKey(keyValues, defaults[i])) {
+                labelAndKeyValues[length++] = defaults[i];
+                labelAndKeyValues[length++] = defaults[i + 1];
+            }
+        }
+        if (length < labelAndKeyValues.length) {
+            labelAndKeyValues = Arrays.copyOf(labelAndKeyValues, length);
+        }
+        Vertex v = graph.addVertex(labelAndKeyValues);
+        invalidateVertices(framer.label(), false);
+
+        V frame = framer.frameNew(v, this);
+        if (framer.hasPostConstruct() && keyValues.length > 0) {
+            restoreProperties(v, frame, keyValues);
+        }
+        return frame;
+    }
+
+    private static boolean containsKey(Object[] keyValues, Object key) {
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (key.equals(keyValues[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the given properties again where the {@code @PostConstruct} methods replaced them by their defaults, and
+     * updates the values the frame keeps accordingly. Only needed for framing classes with such methods.
+     */
+    private void restoreProperties(Vertex v, Object frame, Object[] keyValues) {
+        Map<String, Object> restored = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (keyValues[i] instanceof String) {
+                String key = (String) keyValues[i];
+                Iterator<VertexProperty<Object>> it = v.properties(key);
+                if (!it.hasNext() || !it.next().value().equals(keyValues[i + 1]) || it.hasNext()) {
+                    v.properties(key).forEachRemaining(Property::remove);
+                    v.property(key, keyValues[i + 1]);
+                    restored.put(key, keyValues[i + 1]);
+                }
+            }
+        }
+
+        if (!restored.isEmpty() && frame instanceof Hydratable) {
+            ((Hydratable) frame).hydrate(restored, Collections.emptyMap());
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -106,6 +225,52 @@ public class FramedGraph implements AutoCloseable {
         return new FramedGraphTraversal(traversal.V(), this).labels(clazz, registry.labels(clazz));
     }
 
+    /**
+     * Reads the vertices of a framing class page by page, ordered by a property with unique values. Each page continues
+     * after the value of the last vertex of the previous page with a {@code has(key, P.gt(value))} range predicate,
+     * instead of skipping the vertices of all previous pages. Vertices without the property are skipped.
+     * <p>The key must have an index answering range predicates in order. The {@code order()} step of each page is a
+     * barrier, which otherwise reads and sorts all remaining vertices of the framing class.</p>
+     * <pre>
+     *     Page&lt;Person&gt; page = graph.scan(Person.class, "email", 1000, null);
+     *     while (page.hasNext()) {
+     *         page = graph.scan(Person.class, "email", 1000, page.cursor());
+     *     }
+     * </pre>
+     *
+     * @param <V>      Framing class annotated with  {@link peapod.annotations.Vertex}
+     * @param clazz    a framing class annotated with {@link peapod.annotations.Vertex}
+     * @param key      the key of the indexed property to order by
+     * @param pageSize the maximum number of vertices of the page
+     * @param cursor   the cursor of the previous page, {@code null} for the first page
+     * @return the page
+     */
+    public <V> Page<V> scan(Class<V> clazz, String key, int pageSize, String cursor) {
+        if (key == null) {
+            throw new IllegalArgumentException("Sort key is <null>");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+
+        GraphTraversal<Vertex, Vertex> t = traversal.V().hasLabel(registry.labels(clazz));
+        if (cursor == null) {
+            t.has(key);
+        } else {
+            t.has(key, P.gt(Page.decode(cursor)));
+        }
+        t.order().by(key, Order.incr);
+
+        List<Vertex> vertices = t.limit(pageSize + 1).toList();
+        if (vertices.size() <= pageSize) {
+            return new Page<>(frame(vertices.iterator(), clazz), null);
+        }
+
+        vertices = vertices.subList(0, pageSize);
+        Vertex last = vertices.get(pageSize - 1);
+        return new Page<>(frame(vertices.iterator(), clazz), Page.encode(last.value(key)));
+    }
+
     /**
      * Get a {@link Vertex} given its unique identifier.
      *
@@ -143,10 +308,326 @@ public class FramedGraph implements AutoCloseable {
         return framer.frame(e, this);
     }
 
+    /**
+     * The generated code constructs frames itself when this returns {@code true}, so each constructor call stays
+     * monomorphic, and otherwise frames through {@link #frame(Element, Class, BiFunction)}.
+     *
+     * @return whether neither an identity map nor an element cache is enabled
+     */
+    public boolean framesDirectly() {
+        return identityMap == null && elementCache == null;
+    }
+
+    /**
+     * Frames the element with the given constructor of a generated implementation, or returns the frame of the element
+     * in the identity map when enabled.
+     *
+     * @param e           the element to frame
+     * @param clazz       the framing class implemented by the constructed frame
+     * @param constructor the constructor of the framing implementation
+     * @return the framed element
+     */
+    public <F, E extends Element> F frame(E e, Class<F> clazz, BiFunction<E, FramedGraph, F> constructor) {
+        IdentityMap identityMap = this.identityMap;
+        F framed;
+        if (identityMap == null) {
+            framed = constructor.apply(e, this);
+        } else {
+            listen();
+            framed = identityMap.frame(e, clazz, element -> constructor.apply(element, this));
+        }
+
+        ElementCache elementCache = this.elementCache;
+        if (elementCache != null && framed instanceof Hydratable && e instanceof Vertex) {
+            Map<String, Object> properties = elementCache.get(e.id());
+            if (properties == null) {
+                long version = elementCache.version();
+                IFramer<Element, F> framer = registry.get(clazz);
+                properties = Collections.unmodifiableMap(FrameHelper.properties(e, framer.propertyKeys()));
+                if (writes.get() == null) {
+                    elementCache.put(e.id(), properties, version);
+                }
+            }
+            ((Hydratable) framed).hydrate(properties, Collections.emptyMap());
+        }
+        return framed;
+    }
+
+    /**
+     * Sets the second-level cache of vertex property values, shared by all transactions of this graph. Framed vertices
+     * are pre-filled with the cached values of their single-valued properties, which are read and cached when missing.
+     * Values read by a transaction after writing through the framed graph are not cached, and the written vertices are
+     * invalidated again when it commits. Writes that bypass the framed graph are only seen after the cached entry
+     * expires.
+     *
+     * @param elementCache the cache, {@code null} to disable caching
+     * @see ElementCache#lru(int, long, java.util.concurrent.TimeUnit)
+     */
+    public void setElementCache(ElementCache elementCache) {
+        this.elementCache = elementCache;
+    }
+
+    /**
+     * Invalidates the cached property values of the element, if cached. Called by the generated methods writing
+     * properties.
+     *
+     * @param e the written element
+     */
+    public void invalidate(Element e) {
+        ElementCache elementCache = this.elementCache;
+        if (elementCache != null) {
+            elementCache.invalidate(e.id());
+            writes().elementIds.add(e.id());
+        }
+    }
+
+    /**
+     * Invalidates the cached property values of the element and the cached traversals filtering on the property key,
+     * and for an edge the cached traversals following edges of its label. Called by the generated methods writing
+     * properties.
+     *
+     * @param e           the written element
+     * @param propertyKey the key of the written property
+     */
+    public void invalidate(Element e, String propertyKey) {
+        invalidate(e);
+        QueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            Writes writes = writes();
+            queryCache.invalidateKey(propertyKey);
+            writes.propertyKeys.add(propertyKey);
+            if (e instanceof Edge) {
+                queryCache.invalidateEdges(e.label());
+                writes.edgePropertyLabels.add(e.label());
+            }
+        }
+    }
+
+    /**
+     * Sets the cache of adjacent vertex ids, used by the generated relation getters returning vertices.
+     *
+     * @param adjacencyCache the cache, {@code null} to disable caching
+     * @see AdjacencyCache#lru(int, String...)
+     */
+    public void setAdjacencyCache(AdjacencyCache adjacencyCache) {
+        this.adjacencyCache = adjacencyCache;
+    }
+
+    /**
+     * Returns the adjacent vertices of a vertex, from the cached vertex ids when the edge label is cached. The cache
+     * spares traversing the edges, but the vertices of the cached ids are still looked up, with a single
+     * {@code vertices(ids)} call. Ids read by a transaction after writing through the framed graph are not cached.
+     *
+     * @param start     the vertex
+     * @param direction the direction of the edges
+     * @param edgeLabel the label of the edges
+     * @return the adjacent vertices
+     */
+    public Iterator<Vertex> vertices(Vertex start, Direction direction, String edgeLabel) {
+        AdjacencyCache adjacencyCache = this.adjacencyCache;
+        if (adjacencyCache == null || !adjacencyCache.isCached(edgeLabel)) {
+            return start.vertices(direction, edgeLabel);
+        }
+
+        Object[] ids = adjacencyCache.get(start.id(), direction, edgeLabel);
+        if (ids == null) {
+            long version = adjacencyCache.version(edgeLabel);
+            List<Vertex> vertices = new ArrayList<>();
+            start.vertices(direction, edgeLabel).forEachRemaining(vertices::add);
+            if (writes.get() == null) {
+                adjacencyCache.put(start.id(), direction, edgeLabel, vertices.stream().map(Vertex::id).toArray(), version);
+            }
+            return vertices.iterator();
+        }
+        return ids.length == 0 ? Collections.emptyIterator() : graph.vertices(ids);
+    }
+
+    /**
+     * Drops the cached adjacent vertex ids of the edge label, if cached, and the cached traversals following edges of
+     * the label. Called by the generated methods writing relations, after the write. Within a transaction, these are
+     * dropped again when it commits.
+     *
+     * @param edgeLabel the label of the written edges
+     */
+    public void invalidateEdges(String edgeLabel) {
+        if (adjacencyCache != null || queryCache != null) {
+            dropEdges(edgeLabel);
+            writes().edgeLabels.add(edgeLabel);
+        }
+    }
+
+    private void dropEdges(String edgeLabel) {
+        AdjacencyCache adjacencyCache = this.adjacencyCache;
+        if (adjacencyCache != null) {
+            adjacencyCache.invalidate(edgeLabel);
+        }
+        QueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            queryCache.invalidateEdges(edgeLabel);
+        }
+    }
+
+    private void invalidateVertices(String label, boolean removed) {
+        QueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            queryCache.invalidateVertex(label, removed);
+            writes().vertexLabels.merge(label, removed, Boolean::logicalOr);
+        }
+    }
+
+    /**
+     * Enables the cache of the vertex ids returned by {@link FramedGraphTraversal#cached() cached} traversals, shared by
+     * all threads. Entries are dropped by the writes through this framed graph they may depend on, and are evicted in
+     * least recently used order when the cache exceeds its maximum size. For graphs supporting transactions, a
+     * transaction bypasses the cache once it wrote through the framed graph, and the entries its writes depend on are
+     * dropped again when it commits. Writes that bypass the framed graph are only seen after {@link #clearQueryCache()}.
+     *
+     * @param maximumSize the maximum number of cached traversals
+     */
+    public void enableQueryCache(int maximumSize) {
+        this.queryCache = new QueryCache(maximumSize);
+    }
+
+    /**
+     * Removes all traversals from the query cache, if enabled.
+     */
+    public void clearQueryCache() {
+        QueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            queryCache.clear();
+        }
+    }
+
+    QueryCache queryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Enables the identity map, so the same frame instance is returned for an element as long as the element is in the
+     * map. Each thread has its own map, in which frames are evicted in least recently used order when it exceeds the
+     * maximum size. The map of a thread is cleared at the end of each of its transactions, for graphs supporting
+     * transactions, and by {@link #clearIdentityMap()}, which marks the end of a session otherwise.
+     *
+     * @param maximumSize the maximum number of frames kept per thread
+     */
+    public void enableIdentityMap(int maximumSize) {
+        this.identityMap = new IdentityMap(maximumSize);
+        listen();
+    }
+
+    /**
+     * Registers the transaction listener of this framed graph for the current thread, once. Transaction listeners are
+     * bound to the thread that adds them.
+     */
+    private void listen() {
+        if (listening.get() == null && graph.features().graph().supportsTransactions()) {
+            graph.tx().addTransactionListener(this::transactionClosed);
+            listening.set(Boolean.TRUE);
+        }
+    }
+
+    private void transactionClosed(Transaction.Status status) {
+        IdentityMap identityMap = this.identityMap;
+        if (identityMap != null) {
+            identityMap.clear();
+        }
+
+        Writes writes = this.writes.get();
+        this.writes.remove();
+        if (writes != null && status == Transaction.Status.COMMIT) {
+            ElementCache elementCache = this.elementCache;
+            if (elementCache != null) {
+                writes.elementIds.forEach(elementCache::invalidate);
+            }
+            writes.edgeLabels.forEach(this::dropEdges);
+            AdjacencyCache adjacencyCache = this.adjacencyCache;
+            if (adjacencyCache != null && writes.vertexRemoved) {
+                adjacencyCache.clear();
+            }
+            QueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                writes.propertyKeys.forEach(queryCache::invalidateKey);
+                writes.edgePropertyLabels.forEach(queryCache::invalidateEdges);
+                writes.vertexLabels.forEach(queryCache::invalidateVertex);
+            }
+        }
+    }
+
+    /**
+     * @return whether the current thread wrote through this framed graph in its open transaction, which is then not
+     * served from nor stored in the caches shared with other transactions
+     */
+    boolean isWriting() {
+        return writes.get() != null;
+    }
+
+    /**
+     * @return the writes of the open transaction of the current thread, or a throwaway instance when the graph does
+     * not support transactions
+     */
+    private Writes writes() {
+        if (!graph.features().graph().supportsTransactions()) {
+            return new Writes();
+        }
+        listen();
+        Writes writes = this.writes.get();
+        if (writes == null) {
+            writes = new Writes();
+            this.writes.set(writes);
+        }
+        return writes;
+    }
+
+    /**
+     * The cache entries invalidated by the writes of a transaction, which are invalidated again when it commits, as
+     * other transactions may have cached the values they read in the meantime.
+     */
+    private static final class Writes {
+        private final Set<Object> elementIds = new HashSet<>();
+        private final Set<String> edgeLabels = new HashSet<>();
+        private final Set<String> edgePropertyLabels = new HashSet<>();
+        private boolean vertexRemoved;
+        private final Set<String> propertyKeys = new HashSet<>();
+        private final Map<String, Boolean> vertexLabels = new HashMap<>();
+    }
+
+    /**
+     * Removes all frames from the identity map of the current thread, if enabled.
+     */
+    public void clearIdentityMap() {
+        IdentityMap identityMap = this.identityMap;
+        if (identityMap != null) {
+            identityMap.clear();
+        }
+    }
+
+    /**
+     * Removes the frame and the cached properties of a removed element, as its id can be reused.
+     */
+    void evict(Element e) {
+        invalidate(e);
+        AdjacencyCache adjacencyCache = this.adjacencyCache;
+        if (adjacencyCache != null && e instanceof Vertex) {
+            adjacencyCache.clear();
+            writes().vertexRemoved = true;
+        }
+        if (e instanceof Vertex) {
+            invalidateVertices(e.label(), true);
+        }
+        if (e instanceof Edge) {
+            invalidateEdges(e.label());
+        }
+        IdentityMap identityMap = this.identityMap;
+        if (identityMap != null) {
+            identityMap.remove(e);
+        }
+    }
+
     public <F, E extends Element> List<F> frame(Iterator<E> it, Class<F> clazz) {
         List<F> result = new ArrayList<>();
+        IFramer<E, F> unique = registry.getUnique(clazz);
         it.forEachRemaining(e -> {
-            IFramer<E, F> framer = registry.get(e, clazz);
+            IFramer<E, F> framer = unique != null && unique.frames(e) ? unique : registry.get(e, clazz);
             result.add(framer.frame(e, this));
         });
         return Collections.unmodifiableList(result);
@@ -156,6 +637,13 @@ public class FramedGraph implements AutoCloseable {
         return registry.get(clazz);
     }
 
+    /**
+     * @return the framer registry, which can be reused to frame other graphs of the same model
+     */
+    public FramerRegistry registry() {
+        return registry;
+    }
+
     /**
      * Configure and control the transactions for those graphs that support this feature.
      *
@@ -206,10 +694,21 @@ public class FramedGraph implements AutoCloseable {
         return graph;
     }
 
-    protected GraphTraversalSource traversal() {
+    /**
+     * @return the traversal source of the underlying graph, used by generated relation methods that need ordering or
+     * paging
+     */
+    public GraphTraversalSource traversal() {
         return traversal;
     }
 
+    /**
+     * @return the loader batching the edge reads of the asynchronous relation getters of this graph
+     */
+    public RelationLoader loader() {
+        return loader;
+    }
+
     @Override
     public void close() throws Exception {
         graph.close();
@@ -21,13 +21,23 @@
 
 package peapod;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import peapod.internal.runtime.FrameHelper;
+import peapod.internal.runtime.IFramer;
+import peapod.internal.runtime.QueryCache;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -43,6 +53,12 @@ import java.util.function.Predicate;
 @SuppressWarnings({"unchecked", "unused"})
 public class FramedGraphTraversal<S, E> implements Iterator<E> {
 
+    /**
+     * Step labels under which hydrated elements are selected together with their property values.
+     */
+    private static final String HYDRATED_ELEMENT = "peapod:element";
+    private static final String HYDRATED_VALUES = "peapod:values";
+
     private GraphTraversal<S, E> traversal;
     private FramedGraph graph;
 
@@ -50,91 +66,304 @@ public class FramedGraphTraversal<S, E> implements Iterator<E> {
 
     private boolean framed;
 
+    private String[] hydrateKeys;
+
+    private String[] fetchLabels;
+
     private Map<String, Class<?>> stepLabel2FrameClass = new HashMap<>();
 
+    /**
+     * The steps of the traversal as query cache key, {@code null} when the traversal cannot be cached.
+     */
+    private QueryCache.Query query;
+
+    private boolean cached;
+
+    private QueryCache queryCache;
+    private List<Object> recordedIds;
+    private long recordedVersion;
+
     public FramedGraphTraversal(GraphTraversal traversal, FramedGraph graph) {
         this.traversal = traversal;
         this.graph = graph;
+
+        if (traversal.asAdmin().getStartStep() instanceof GraphStep && ((GraphStep) traversal.asAdmin().getStartStep()).returnsVertex()) {
+            this.query = new QueryCache.Query().step("V", (Object) ((GraphStep) traversal.asAdmin().getStartStep()).getIds());
+        }
+    }
+
+    /**
+     * Starts a traversal from an element already held by a frame, so the element is not looked up by id again.
+     */
+    FramedGraphTraversal(FramedGraph graph, Element start) {
+        this.traversal = (GraphTraversal<S, E>) graph.traversal().inject(start);
+        this.graph = graph;
+
+        if (start instanceof Vertex) {
+            this.query = new QueryCache.Query().step("V", (Object) new Object[]{start.id()});
+        } else if (start instanceof Edge) {
+            this.query = new QueryCache.Query().step("E", (Object) new Object[]{start.id()}).edgeLabels(start.label());
+        }
     }
 
     protected FramedGraphTraversal<S, E> labels(Class clazz, String[] labels) {
         this.lastFramingClass = clazz;
         traversal.hasLabel(labels);
+        record("hasLabel", (Object) labels).vertexLabels(labels);
         return this;
     }
 
     public FramedGraphTraversal<S, E> has(final String key) {
         traversal.has(key);
+        record("has", key).propertyKeys(key);
         return this;
     }
 
     public FramedGraphTraversal<S, E> has(final String key, final Object value) {
         traversal.has(key, value);
+        record("has", key, value).propertyKeys(key);
+        return this;
+    }
+
+    /**
+     * Filters on a property value with a native predicate, which graph strategies can fold into an index lookup,
+     * unlike a lambda {@link #filter(Predicate) filter}.
+     * <pre>
+     *     graph.V(Person.class).has("age", P.gt(30)).toList();
+     * </pre>
+     *
+     * @param key       the property key
+     * @param predicate the predicate on the property value
+     * @return the traversal
+     */
+    public FramedGraphTraversal<S, E> has(final String key, final P<?> predicate) {
+        traversal.has(key, predicate);
+        record("has", key, predicate).propertyKeys(key);
         return this;
     }
 
     public FramedGraphTraversal<S, E> has(final T accessor, final Object value) {
         traversal.has(accessor, value);
+        if (accessor == T.label) {
+            record("has", accessor, value).vertexLabels(String.valueOf(value));
+        } else if (accessor == T.id) {
+            record("has", accessor, value);
+        } else {
+            query = null;
+        }
         return this;
     }
 
     public FramedGraphTraversal<S, E> has(final String label, final String key, final Object value) {
         traversal.has(label, key, value);
+        record("has", label, key, value).vertexLabels(label).propertyKeys(key);
+        return this;
+    }
+
+    public FramedGraphTraversal<S, E> has(final String label, final String key, final P<?> predicate) {
+        traversal.has(label, key, predicate);
+        record("has", label, key, predicate).vertexLabels(label).propertyKeys(key);
+        return this;
+    }
+
+    public FramedGraphTraversal<S, E> hasId(final Object... ids) {
+        traversal.hasId(ids);
+        record("hasId", (Object) ids);
+        return this;
+    }
+
+    /**
+     * Keeps the elements framed by the given subclass of the framing class, and frames them with it.
+     *
+     * @param clazz the framing subclass
+     * @return the traversal
+     */
+    public <E2 extends E> FramedGraphTraversal<S, E2> hasLabel(final Class<E2> clazz) {
+        return (FramedGraphTraversal<S, E2>) labels(clazz, graph.registry().labels(clazz));
+    }
+
+    /**
+     * Filters the traversed values, for example those returned by {@link #values(String...)}, with a native predicate.
+     *
+     * @param predicate the predicate on the values
+     * @return the traversal
+     */
+    public FramedGraphTraversal<S, E> is(final P<E> predicate) {
+        traversal.is(predicate);
+        record("is", predicate);
         return this;
     }
 
     public FramedGraphTraversal<S, E> hasNot(final String key) {
         traversal.hasNot(key);
+        record("hasNot", key).propertyKeys(key);
         return this;
     }
 
     public <E2> FramedGraphTraversal<S, E2> values(final String... propertyKeys) {
         this.lastFramingClass = null;
         traversal.values(propertyKeys);
+        query = null;
         return (FramedGraphTraversal<S, E2>) this;
     }
 
     public FramedGraphTraversal<S, E> filter(final Predicate<Traverser<E>> predicate) {
         traversal.filter(predicate);
+        query = null;
         return this;
     }
 
     public <E2> FramedGraphTraversal<S, E2> in(final String edgeLabel, Class<E2> clazz) {
         traversal.in(edgeLabel);
+        record("in", edgeLabel).edgeLabels(edgeLabel);
         this.lastFramingClass = clazz;
         return (FramedGraphTraversal<S, E2>) this;
     }
 
     public <E2> FramedGraphTraversal<S, E2> out(final String edgeLabel, Class<E2> clazz) {
         traversal.out(edgeLabel);
+        record("out", edgeLabel).edgeLabels(edgeLabel);
+        this.lastFramingClass = clazz;
+        return (FramedGraphTraversal<S, E2>) this;
+    }
+
+    public <E2> FramedGraphTraversal<S, E2> outV(Class<E2> clazz) {
+        traversal.outV();
+        record("outV");
+        this.lastFramingClass = clazz;
+        return (FramedGraphTraversal<S, E2>) this;
+    }
+
+    public <E2> FramedGraphTraversal<S, E2> inV(Class<E2> clazz) {
+        traversal.inV();
+        record("inV");
         this.lastFramingClass = clazz;
         return (FramedGraphTraversal<S, E2>) this;
     }
 
     public FramedGraphTraversal<S, Vertex> out(String... edgeLabels) {
         traversal.out(edgeLabels);
+        record("out", (Object) edgeLabels).edgeLabels(edgeLabels);
         return (FramedGraphTraversal<S, Vertex>) this;
     }
 
     public FramedGraphTraversal<S, Vertex> in(String... edgeLabels) {
         traversal.in(edgeLabels);
+        record("in", (Object) edgeLabels).edgeLabels(edgeLabels);
         return (FramedGraphTraversal<S, Vertex>) this;
     }
 
     public FramedGraphTraversal<S, E> as(final String label) {
         stepLabel2FrameClass.put(label, lastFramingClass);
         traversal.as(label);
+        record("as", label);
         return this;
     }
 
     public <E2> FramedGraphTraversal<S, E2> back(final String label) {
         lastFramingClass = stepLabel2FrameClass.get(label);
         traversal.select(label);
+        record("select", label);
         return (FramedGraphTraversal<S, E2>) this;
     }
 
+    /**
+     * Reads the ids of the traversed elements from the query cache of the graph, when enabled, instead of executing
+     * the traversal. Traversals with the same steps and arguments share the cached ids, which are dropped by writes
+     * through the framed graph to the vertex labels, property keys and edge labels of the steps. Traversals with
+     * lambda filters or returning values are never cached.
+     *
+     * @return the traversal
+     * @see FramedGraph#enableQueryCache(int)
+     */
+    public FramedGraphTraversal<S, E> cached() {
+        this.cached = true;
+        return this;
+    }
+
+    private QueryCache.Query record(String step, Object... arguments) {
+        return query == null ? new QueryCache.Query() : query.step(step, arguments);
+    }
+
+    /**
+     * Reads the given properties of the traversed elements when framing them, so their getters do not access the
+     * graph again. Without keys, the single-valued properties cached by the framers of the framing class are read, and
+     * nothing is read when they have none.
+     *
+     * @param propertyKeys the keys of the properties to read
+     * @return the traversal
+     */
+    public FramedGraphTraversal<S, E> hydrate(final String... propertyKeys) {
+        this.hydrateKeys = propertyKeys;
+        return this;
+    }
+
+    /**
+     * Loads the edges with the given labels of the traversed vertices when framing them, with one traversal per batch
+     * of 1000 vertices, so their relation getters do not access the graph again. Without labels, the edges of all
+     * relations of the framing class are loaded.
+     *
+     * @param edgeLabels the labels of the edges to load
+     * @return the traversal
+     */
+    public FramedGraphTraversal<S, E> fetch(final String... edgeLabels) {
+        this.fetchLabels = edgeLabels;
+        return this;
+    }
+
     public FramedGraphTraversal<S, E> dedup() {
         traversal.dedup();
+        record("dedup");
+        return this;
+    }
+
+    /**
+     * Sorts the traversed elements, by the properties given with {@link #by(String, Order)}. The elements are framed
+     * after sorting and truncating, so with {@link #limit(long)} only the returned elements are framed.
+     * <pre>
+     *     graph.V(Person.class).order().by("age", Order.decr).limit(10).toList();
+     * </pre>
+     *
+     * @return the traversal
+     */
+    public FramedGraphTraversal<S, E> order() {
+        traversal.order();
+        record("order");
+        return this;
+    }
+
+    public FramedGraphTraversal<S, E> by(final String key) {
+        traversal.by(key);
+        record("by", key).propertyKeys(key);
+        return this;
+    }
+
+    public FramedGraphTraversal<S, E> by(final String key, final Order order) {
+        traversal.by(key, order);
+        record("by", key, order).propertyKeys(key);
+        return this;
+    }
+
+    public FramedGraphTraversal<S, E> limit(final long limit) {
+        traversal.limit(limit);
+        record("limit", limit);
+        return this;
+    }
+
+    /**
+     * @param low  the index of the first returned element
+     * @param high the index after the last returned element, {@code -1} for all remaining elements
+     * @return the traversal
+     */
+    public FramedGraphTraversal<S, E> range(final long low, final long high) {
+        traversal.range(low, high);
+        record("range", low, high);
+        return this;
+    }
+
+    public FramedGraphTraversal<S, E> tail(final long limit) {
+        traversal.tail(limit);
+        record("tail", limit);
         return this;
     }
 
@@ -153,24 +382,48 @@ public class FramedGraphTraversal<S, E> implements Iterator<E> {
         return this;
     }*/
 
+    /**
+     * Compiles the traversal into a template, which can be executed many times and concurrently with other values of
+     * its {@link TraversalTemplate#parameter(String) parameters}. The traversal itself can no longer be used.
+     * Templates do not use the query cache.
+     *
+     * @return the template
+     */
+    public TraversalTemplate<E> compile() {
+        if (framed) {
+            throw new IllegalStateException("The traversal was already executed");
+        }
+        if (!(traversal.asAdmin().getStartStep() instanceof GraphStep)) {
+            throw new IllegalStateException("Only traversals starting with V() can be compiled");
+        }
+        cached = false;
+        addFrameStep(lastFramingClass, false);
+        framed = true;
+        return new TraversalTemplate<>(traversal.asAdmin());
+    }
+
     public List<E> toList() {
-        addFrameStep(lastFramingClass);
-        return traversal.toList();
+        addFrameStep(lastFramingClass, true);
+        List<E> result = traversal.toList();
+        storeRecordedIds();
+        return result;
     }
 
     public Set<E> toSet() {
-        addFrameStep(lastFramingClass);
-        return traversal.toSet();
+        addFrameStep(lastFramingClass, true);
+        Set<E> result = traversal.toSet();
+        storeRecordedIds();
+        return result;
     }
 
     @Override
     public boolean hasNext() {
-        addFrameStep(lastFramingClass);
+        addFrameStep(lastFramingClass, false);
         return traversal.hasNext();
     }
 
     public E next() {
-        addFrameStep(lastFramingClass);
+        addFrameStep(lastFramingClass, false);
         return traversal.next();
     }
 
@@ -181,17 +434,19 @@ public class FramedGraphTraversal<S, E> implements Iterator<E> {
 
     @Override
     public void forEachRemaining(Consumer<? super E> action) {
-        addFrameStep(lastFramingClass);
+        addFrameStep(lastFramingClass, true);
         traversal.forEachRemaining(action);
+        storeRecordedIds();
     }
 
     public Optional<E> tryNext() {
-        addFrameStep(lastFramingClass);
+        addFrameStep(lastFramingClass, false);
         return traversal.tryNext();
     }
 
     public FramedGraphTraversal<S, Long> count() {
         this.lastFramingClass = null;
+        query = null;
 
         traversal.count();
         return (FramedGraphTraversal<S, Long>) this;
@@ -202,22 +457,72 @@ public class FramedGraphTraversal<S, E> implements Iterator<E> {
         String label = graph.framer(framingClass).label();
         traversal.properties(label);
         this.lastFramingClass = framingClass;
+        query = null;
         return (FramedGraphTraversal<S, E2>) this;
     }
 
 
-    private <F> void addFrameStep(Class<F> framingClass) {
+    /**
+     * Adds the steps framing the traversed elements. With a cached query, the traversal is replaced by the cached
+     * vertices, or, when not cached and the traversal is to be fully iterated, the traversed ids are recorded.
+     */
+    private <F> void addFrameStep(Class<F> framingClass, boolean fullIteration) {
         if (framingClass == null || framed) {
             return;
         }
 
-        traversal.asAdmin().addStep(new FrameMapStep(traversal.asAdmin(), graph, framingClass));
+        QueryCache queryCache = cached && query != null && !graph.isWriting() ? graph.queryCache() : null;
+        if (queryCache != null) {
+            Object[] ids = queryCache.get(query);
+            if (ids != null) {
+                traversal = (GraphTraversal<S, E>) graph.traversal().inject(vertices(ids));
+            } else if (fullIteration) {
+                this.queryCache = queryCache;
+                this.recordedVersion = queryCache.version();
+                List<Object> recordedIds = new ArrayList<>();
+                traversal.sideEffect(traverser -> recordedIds.add(((Element) traverser.get()).id()));
+                this.recordedIds = recordedIds;
+            }
+        }
+
+        if (fetchLabels != null) {
+            traversal.asAdmin().addStep(new FetchStep(traversal.asAdmin(), graph, framingClass, fetchLabels));
+        }
+        String[] keys = hydrateKeys == null || hydrateKeys.length > 0 ? hydrateKeys : graph.registry().propertyKeys(framingClass);
+        if (keys != null && keys.length == 0) {
+            // nothing to read, an empty valueMap() would read all properties
+            keys = null;
+        }
+        if (keys != null) {
+            traversal = (GraphTraversal<S, E>) traversal.as(HYDRATED_ELEMENT).valueMap(keys).as(HYDRATED_VALUES).select(HYDRATED_ELEMENT, HYDRATED_VALUES);
+        }
+        traversal.asAdmin().addStep(new FrameMapStep(traversal.asAdmin(), graph, framingClass, keys, fetchLabels != null));
         framed = true;
     }
 
 
+    /**
+     * @return the vertices with the given ids in the same order, leaving out removed vertices
+     */
+    private Object[] vertices(Object[] ids) {
+        if (ids.length == 0) {
+            return ids;
+        }
+        Map<Object, Vertex> id2Vertex = new HashMap<>();
+        graph.graph().vertices(ids).forEachRemaining(v -> id2Vertex.put(v.id(), v));
+        return Arrays.stream(ids).map(id2Vertex::get).filter(Objects::nonNull).toArray();
+    }
+
+    private void storeRecordedIds() {
+        if (recordedIds != null) {
+            queryCache.put(query, recordedIds.toArray(), recordedVersion);
+            recordedIds = null;
+        }
+    }
+
     public <E2> FramedGraphTraversal<S, E2> value() {
         traversal.value();
+        query = null;
         return (FramedGraphTraversal<S, E2>) this;
     }
 
@@ -225,15 +530,145 @@ public class FramedGraphTraversal<S, E> implements Iterator<E> {
         private FramedGraph graph;
         private final Class<F> framingClass;
 
-        public FrameMapStep(Traversal.Admin traversal, FramedGraph graph, Class<F> framingClass) {
+        /**
+         * Framer resolved once for the whole step when the framing class maps to exactly one label. Elements with
+         * another label are still framed by the framer of their label.
+         */
+        private final IFramer<Element, F> uniqueFramer;
+
+        private String lastLabel;
+        private IFramer<Element, F> lastFramer;
+
+        /**
+         * Keys of the properties read while framing, {@code null} when not hydrating.
+         */
+        private final String[] hydrateKeys;
+
+        /**
+         * Whether the edges are loaded by a preceding fetch step, which is looked up from the step itself so copies of
+         * the traversal use their own fetch step.
+         */
+        private final boolean fetch;
+
+        public FrameMapStep(Traversal.Admin traversal, FramedGraph graph, Class<F> framingClass, String[] hydrateKeys, boolean fetch) {
             super(traversal);
             this.graph = graph;
             this.framingClass = framingClass;
+            this.uniqueFramer = graph.registry().getUnique(framingClass);
+            this.hydrateKeys = hydrateKeys;
+            this.fetch = fetch;
+        }
+
+        private FetchStep fetchStep() {
+            Step<?, ?> step = getPreviousStep();
+            while (!(step instanceof FetchStep)) {
+                step = step.getPreviousStep();
+            }
+            return (FetchStep) step;
         }
 
+        /**
+         * Hydrated elements arrive together with the values read by the {@code valueMap} step preceding this step.
+         */
         @Override
         protected F map(Traverser.Admin traverser) {
-            return graph.frame((Element) traverser.get(), framingClass);
+            Element e;
+            Map<String, Object> values = null;
+            if (hydrateKeys == null) {
+                e = (Element) traverser.get();
+            } else {
+                Map<String, Object> selected = (Map<String, Object>) traverser.get();
+                e = (Element) selected.get(HYDRATED_ELEMENT);
+                values = (Map<String, Object>) selected.get(HYDRATED_VALUES);
+            }
+
+            IFramer<Element, F> framer = uniqueFramer;
+            if (framer == null || !framer.frames(e)) {
+                String label = e.label();
+                if (!label.equals(lastLabel) || !lastFramer.type().isInstance(e)) {
+                    lastFramer = graph.registry().get(e, framingClass);
+                    lastLabel = label;
+                }
+                framer = lastFramer;
+            }
+
+            if (hydrateKeys == null && !fetch) {
+                return framer.frame(e, graph);
+            }
+            Map<String, Object> properties = hydrateKeys == null ? Collections.emptyMap() : FrameHelper.properties(e, values, hydrateKeys);
+            Map<String, List<Edge>> edges = fetch ? fetchStep().edges(e) : Collections.emptyMap();
+            return framer.frame(e, graph, properties, edges);
+        }
+    }
+
+    /**
+     * Collects the traversed vertices in batches and loads the edges of each batch with a single
+     * {@code V(ids).bothE(labels)} traversal, instead of one traversal per vertex and relation.
+     */
+    private static class FetchStep<S> extends CollectingBarrierStep<S> {
+        private static final int BATCH_SIZE = 1000;
+
+        private final FramedGraph graph;
+        private final Class<?> framingClass;
+        private final String[] edgeLabels;
+
+        private Map<Object, Map<String, List<Edge>>> adjacency = new HashMap<>();
+
+        public FetchStep(Traversal.Admin traversal, FramedGraph graph, Class<?> framingClass, String[] edgeLabels) {
+            super(traversal, BATCH_SIZE);
+            this.graph = graph;
+            this.framingClass = framingClass;
+            this.edgeLabels = edgeLabels;
+        }
+
+        @Override
+        public void barrierConsumer(TraverserSet<S> traversers) {
+            adjacency.clear();
+            Set<String> labels = new LinkedHashSet<>(Arrays.asList(edgeLabels));
+            for (Traverser.Admin<S> traverser : traversers) {
+                if (traverser.get() instanceof Vertex) {
+                    Vertex v = (Vertex) traverser.get();
+                    if (edgeLabels.length == 0) {
+                        labels.addAll(Arrays.asList(graph.registry().get(v, framingClass).edgeLabels()));
+                    }
+                    adjacency.put(v.id(), new HashMap<>());
+                }
+            }
+            if (adjacency.isEmpty() || labels.isEmpty()) {
+                return;
+            }
+
+            for (Map<String, List<Edge>> edges : adjacency.values()) {
+                labels.forEach(label -> edges.put(label, new ArrayList<>()));
+            }
+            graph.traversal().V(adjacency.keySet().toArray()).bothE(labels.toArray(new String[labels.size()])).dedup().forEachRemaining(edge -> {
+                Object outId = edge.outVertex().id();
+                Object inId = edge.inVertex().id();
+                if (adjacency.containsKey(outId)) {
+                    adjacency.get(outId).get(edge.label()).add(edge);
+                }
+                if (adjacency.containsKey(inId) && !inId.equals(outId)) {
+                    adjacency.get(inId).get(edge.label()).add(edge);
+                }
+            });
+        }
+
+        public Map<String, List<Edge>> edges(Element e) {
+            Map<String, List<Edge>> edges = adjacency.get(e.id());
+            return edges == null ? Collections.emptyMap() : edges;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            adjacency.clear();
+        }
+
+        @Override
+        public FetchStep<S> clone() {
+            FetchStep<S> clone = (FetchStep<S>) super.clone();
+            clone.adjacency = new HashMap<>();
+            return clone;
         }
     }
 }
\ No newline at end of file
@@ -40,10 +40,12 @@ public interface FramedVertex<V> extends FramedElement, FramedVertexTraversal<V>
         return (Vertex) element();
     }
 
+    /**
+     * Starts a traversal from the wrapped vertex, without looking it up again.
+     */
     @SuppressWarnings("unchecked")
     default FramedGraphTraversal<V, V> start() {
-        FramedGraph graph = graph();
-        return new FramedGraphTraversal(graph.traversal().V(id()), graph);
+        return new FramedGraphTraversal(graph(), vertex());
     }
 
 
@@ -46,4 +46,11 @@ public interface FramedVertexProperty<T> extends FramedElement {
         return (VertexProperty) element();
     }
 
+    /**
+     * Starts a traversal from the wrapped vertex property, without looking it up again.
+     */
+    default FramedGraphTraversal<org.apache.tinkerpop.gremlin.structure.VertexProperty<T>, org.apache.tinkerpop.gremlin.structure.VertexProperty<T>> start() {
+        return new FramedGraphTraversal<>(graph(), element());
+    }
+
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A page of frames returned by {@link FramedGraph#scan(Class, String, int, String)}, with the cursor to read the next
+ * page. The cursor is an opaque string, so it can be stored by jobs resuming a scan later.
+ *
+ * @param <F> the framing class
+ */
+public final class Page<F> {
+
+    private final List<F> frames;
+
+    private final String cursor;
+
+    Page(List<F> frames, String cursor) {
+        this.frames = frames;
+        this.cursor = cursor;
+    }
+
+    public List<F> frames() {
+        return frames;
+    }
+
+    /**
+     * @return the cursor of the next page, or {@code null} when this is the last page
+     */
+    public String cursor() {
+        return cursor;
+    }
+
+    public boolean hasNext() {
+        return cursor != null;
+    }
+
+    /**
+     * Encodes the sort key value of the last element of a page, keeping its type.
+     */
+    static String encode(Object value) {
+        String encoded;
+        if (value instanceof String) {
+            encoded = "S" + value;
+        } else if (value instanceof Long) {
+            encoded = "L" + value;
+        } else if (value instanceof Integer) {
+            encoded = "I" + value;
+        } else if (value instanceof Short) {
+            encoded = "H" + value;
+        } else if (value instanceof Byte) {
+            encoded = "B" + value;
+        } else if (value instanceof Double) {
+            encoded = "D" + value;
+        } else if (value instanceof Float) {
+            encoded = "F" + value;
+        } else if (value instanceof UUID) {
+            encoded = "U" + value;
+        } else {
+            throw new IllegalArgumentException("Cursor value not supported: " + value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object decode(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (decoded.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        String value = decoded.substring(1);
+        try {
+            switch (decoded.charAt(0)) {
+                case 'S':
+                    return value;
+                case 'L':
+                    return Long.valueOf(value);
+                case 'I':
+                    return Integer.valueOf(value);
+                case 'H':
+                    return Short.valueOf(value);
+                case 'B':
+                    return Byte.valueOf(value);
+                case 'D':
+                    return Double.valueOf(value);
+                case 'F':
+                    return Float.valueOf(value);
+                case 'U':
+                    return UUID.fromString(value);
+                default:
+                    throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>A framed traversal compiled once and executed many times, possibly concurrently, with other parameter values.
+ * Parameters are placeholders for the values of {@code has} and {@code is} predicates, bound by name on each
+ * execution.</p>
+ * <pre>
+ *     TraversalTemplate&lt;Person&gt; olderThan = graph.V(Person.class).has("age", P.gt(parameter("age"))).compile();
+ *     List&lt;Person&gt; people = olderThan.toList("age", 30);
+ * </pre>
+ * <p>The strategies are applied once per compiled copy of the traversal. Copies are kept in a pool and reset between
+ * executions, so each concurrent execution reuses a copy instead of rebuilding and optimizing the traversal.</p>
+ *
+ * @param <E> the type of the results
+ * @see FramedGraphTraversal#compile()
+ */
+public final class TraversalTemplate<E> {
+
+    private final Traversal.Admin<?, E> prototype;
+
+    private final Set<String> parameters = new HashSet<>();
+
+    private final Queue<Compiled<E>> pool = new ConcurrentLinkedQueue<>();
+
+    TraversalTemplate(Traversal.Admin<?, E> prototype) {
+        this.prototype = prototype;
+        Compiled<E> compiled = compile();
+        compiled.bindings.forEach(binding -> parameters.add(binding.parameter));
+        pool.add(compiled);
+    }
+
+    /**
+     * Creates a placeholder for a predicate value, to bind when executing the template. The placeholder is itself an
+     * equality predicate, so it can be used as value of {@code has(key, value)} too.
+     *
+     * @param name the name of the parameter
+     * @return the placeholder
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> V parameter(String name) {
+        return (V) new Parameter(name);
+    }
+
+    /**
+     * @return the names of the parameters of the template
+     */
+    public Set<String> parameters() {
+        return Collections.unmodifiableSet(parameters);
+    }
+
+    /**
+     * Executes the template.
+     *
+     * @param nameValues the parameter name/value pairs
+     * @return the results
+     */
+    public List<E> toList(Object... nameValues) {
+        Compiled<E> compiled = bind(nameValues);
+        try {
+            List<E> result = new ArrayList<>();
+            compiled.traversal.forEachRemaining(result::add);
+            return result;
+        } finally {
+            pool.add(compiled);
+        }
+    }
+
+    /**
+     * Executes the template, reading the first result only.
+     *
+     * @param nameValues the parameter name/value pairs
+     * @return the first result, if any
+     */
+    public Optional<E> tryNext(Object... nameValues) {
+        Compiled<E> compiled = bind(nameValues);
+        try {
+            return compiled.traversal.hasNext() ? Optional.of(compiled.traversal.next()) : Optional.empty();
+        } finally {
+            pool.add(compiled);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Compiled<E> bind(Object... nameValues) {
+        if (nameValues.length % 2 != 0) {
+            throw new IllegalArgumentException("The parameters must be name/value pairs");
+        }
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < nameValues.length; i = i + 2) {
+            if (!parameters.contains(nameValues[i])) {
+                throw new IllegalArgumentException("Unknown parameter: " + nameValues[i]);
+            }
+            values.put((String) nameValues[i], nameValues[i + 1]);
+        }
+        for (String parameter : parameters) {
+            if (!values.containsKey(parameter)) {
+                throw new IllegalArgumentException("Parameter not bound: " + parameter);
+            }
+        }
+
+        Compiled<E> compiled = pool.poll();
+        if (compiled == null) {
+            compiled = compile();
+        }
+        compiled.traversal.reset();
+        compiled.traversal.addStart(compiled.traversal.getTraverserGenerator().generate(Boolean.TRUE, (Step) compiled.traversal.getStartStep(), 1L));
+        for (Binding binding : compiled.bindings) {
+            binding.predicate.setValue(values.get(binding.parameter));
+        }
+        return compiled;
+    }
+
+    /**
+     * Copies the traversal and applies the strategies. The start {@code V()} step is moved behind a start step, as a
+     * graph step only reads the graph once as start step, even when the traversal is reset. The traversal is then
+     * restarted by adding a start traverser.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Compiled<E> compile() {
+        Traversal.Admin<?, E> traversal = prototype.clone();
+        GraphStep<?, ?> graphStep = (GraphStep<?, ?>) traversal.getStartStep();
+        GraphStep<?, ?> midStep = new GraphStep<>(traversal, graphStep.getReturnClass(), false, graphStep.getIds());
+        graphStep.getLabels().forEach(midStep::addLabel);
+        TraversalHelper.replaceStep((Step) graphStep, (Step) midStep, traversal);
+        traversal.addStep(0, new StartStep<>(traversal));
+        traversal.applyStrategies();
+
+        List<Binding> bindings = new ArrayList<>();
+        for (Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HasContainerHolder) {
+                for (HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    addBindings(hasContainer.getPredicate(), bindings);
+                }
+            } else if (step instanceof IsStep) {
+                addBindings(((IsStep<?>) step).getPredicate(), bindings);
+            }
+        }
+        return new Compiled<>(traversal, bindings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addBindings(P<?> predicate, List<Binding> bindings) {
+        if (predicate instanceof ConnectiveP) {
+            ((ConnectiveP<?>) predicate).getPredicates().forEach(p -> addBindings(p, bindings));
+        } else if (predicate instanceof Parameter) {
+            bindings.add(new Binding((P<Object>) predicate, ((Parameter) predicate).name));
+        } else if (predicate.getValue() instanceof Parameter) {
+            bindings.add(new Binding((P<Object>) predicate, ((Parameter) predicate.getValue()).name));
+        }
+    }
+
+    private static final class Compiled<E> {
+        private final Traversal.Admin<?, E> traversal;
+        private final List<Binding> bindings;
+
+        private Compiled(Traversal.Admin<?, E> traversal, List<Binding> bindings) {
+            this.traversal = traversal;
+            this.bindings = bindings;
+        }
+    }
+
+    private static final class Binding {
+        private final P<Object> predicate;
+        private final String parameter;
+
+        private Binding(P<Object> predicate, String parameter) {
+            this.predicate = predicate;
+            this.parameter = parameter;
+        }
+    }
+
+    private static final class Parameter extends P<Object> {
+        private final String name;
+
+        private Parameter(String name) {
+            super(Compare.eq, null);
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + name + "}";
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>Defines how a {@link Property} filter parameter of a relation getter is compared with the edge property.
+ * Without this annotation the edge property must be equal to the parameter.</p>
+ * <pre>
+ * public abstract List&lt;Knows&gt; getKnows(&#64;Property("since") &#64;Compare(GTE) int from,
+ *                                      &#64;Property("since") &#64;Compare(LT) int to);</pre>
+ * <p>The filter is added to the traversal as a {@code has(key, predicate)} step, filter values must not be
+ * {@code null}.</p>
+ *
+ * @author Willem Salembier
+ * @see org.apache.tinkerpop.gremlin.process.traversal.P
+ * @since 0.3
+ */
+@Retention(RUNTIME)
+@Target(PARAMETER)
+public @interface Compare {
+
+    Operator value();
+
+    enum Operator {
+        EQ, NEQ, LT, LTE, GT, GTE
+    }
+
+}
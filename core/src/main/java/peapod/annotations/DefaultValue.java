@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+package peapod.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>Default value of a single-valued vertex property. The value is converted to the property type at compile-time
+ * and created together with the vertex in the {@code addVertex} call of
+ * {@link peapod.FramedGraph#addVertex(Class, Object...)}, unless another value is given. Unlike a default set by a
+ * {@code @PostConstruct} method, it does not cost a separate property write.</p>
+ * <pre>
+ *     &#64;DefaultValue("true")
+ *     public abstract boolean getActive();
+ * </pre>
+ * <p>Supported types are strings, primitive types, their wrappers and enums.</p>
+ *
+ * @author Willem Salembier
+ * @since 0.3
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface DefaultValue {
+
+    String value();
+
+}
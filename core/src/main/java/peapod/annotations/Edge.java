@@ -60,4 +60,14 @@ public @interface Edge {
 
     String value() default "";
 
+    /**
+     * Caches the single-valued property values in the framed instance. Values are read from the graph at most once and
+     * setters update the cached value. The cache is not shared with other framed instances of the same element, so
+     * only use it for frames that are not modified elsewhere during their lifetime.
+     *
+     * @return whether property values are cached
+     * @since 0.3
+     */
+    boolean cached() default false;
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>Marks a relation getter returning a {@code List} to frame the elements on demand instead of reading the whole
+ * adjacency upfront. The list holds on to the backend iterator until it is fully read, so it should not be used while
+ * the relation is being modified.</p>
+ * <pre>
+ * &#64;Lazy
+ * public abstract List&lt;Knows&gt; getKnows();</pre>
+ * <p>Relation getters returning an {@code Iterable} or a {@code Stream} are always lazy.</p>
+ *
+ * @author Willem Salembier
+ * @since 0.3
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface Lazy {
+
+}
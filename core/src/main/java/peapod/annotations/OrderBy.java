@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>Orders the elements returned by a relation getter on a property of the edges, so the backend can sort and page
+ * the adjacency instead of reading it completely.</p>
+ * <pre>
+ * &#64;OrderBy(value = "since", descending = true)
+ * public abstract List&lt;Develops&gt; getDevelops(int offset, int limit);</pre>
+ * <p>Relation getters can be paged with an {@code (int offset, int limit)} parameter pair, or limited to the first
+ * elements with a single {@code int limit} parameter.</p>
+ *
+ * @author Willem Salembier
+ * @since 0.3
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface OrderBy {
+
+    /**
+     * @return the edge property to order on
+     */
+    String value();
+
+    boolean descending() default false;
+
+}
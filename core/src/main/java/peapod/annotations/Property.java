@@ -25,6 +25,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 
@@ -38,12 +39,23 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  *     public abstract String getLastName();
  *     public abstract void setLastName(String name);
  * </pre>
+ * <p>On a parameter of a relation getter, the annotation filters the returned edges on the given edge property.
+ * Without a value the parameter name is used as property key. See {@link Compare} for other comparisons than
+ * equality.</p>
+ * <pre>
+ *     public abstract List&lt;Knows&gt; getKnows(&#64;Property("since") &#64;Compare(GT) Date after);
+ * </pre>
+ * <p>On the parameters following the linked vertex of an adder, the annotation sets the edge properties in the same
+ * {@code addEdge} call. Likewise, multi-property adders set meta-properties.</p>
+ * <pre>
+ *     public abstract Knows addKnows(Person person, &#64;Property("since") Date since);
+ * </pre>
  *
  * @author Willem Salembier
  * @since 0.1
  */
 @Retention(RUNTIME)
-@Target(METHOD)
+@Target({METHOD, PARAMETER})
 public @interface Property {
 
     String value() default "";
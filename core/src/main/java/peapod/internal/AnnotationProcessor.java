@@ -22,13 +22,18 @@
 package peapod.internal;
 
 import com.squareup.javapoet.*;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import peapod.*;
 import peapod.annotations.*;
 import peapod.internal.runtime.DefaultIterable;
 import peapod.internal.runtime.FrameHelper;
 import peapod.internal.runtime.Framer;
+import peapod.internal.runtime.FramerIndex;
+import peapod.internal.runtime.Hydratable;
 import peapod.internal.runtime.IFramer;
 
 import javax.annotation.PostConstruct;
@@ -36,20 +41,29 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static javax.lang.model.element.ElementKind.*;
+import static javax.lang.model.element.ElementKind.CLASS;
+import static javax.lang.model.element.ElementKind.INTERFACE;
+import static javax.lang.model.element.ElementKind.METHOD;
 import static javax.lang.model.element.Modifier.*;
 import static javax.lang.model.type.TypeKind.DECLARED;
 import static javax.lang.model.type.TypeKind.VOID;
 import static javax.tools.Diagnostic.Kind.*;
-import static javax.tools.Diagnostic.Kind.OTHER;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
 import static peapod.internal.Direction.*;
 
 /**
@@ -65,12 +79,21 @@ public final class AnnotationProcessor extends AbstractProcessor {
 
     private Types types;
 
+    private Elements elements;
+
+    private final Map<String, Set<ClassName>> package2Framers = new TreeMap<>();
+
+    private final Set<String> indexedPackages = new HashSet<>();
+
+    private final Set<TypeElement> framedTypes = new HashSet<>();
+
     @Override
     public void init(final ProcessingEnvironment environment) {
         super.init(environment);
         this.messager = environment.getMessager();
         this.filer = environment.getFiler();
         types = environment.getTypeUtils();
+        elements = environment.getElementUtils();
     }
 
     @Override
@@ -78,6 +101,10 @@ public final class AnnotationProcessor extends AbstractProcessor {
         messager.printMessage(OTHER, "Start processor with " + annotations.size());
 
         try {
+            framedTypes.clear();
+            roundEnv.getElementsAnnotatedWith(Vertex.class).forEach(e -> framedTypes.add((TypeElement) e));
+            roundEnv.getElementsAnnotatedWith(Edge.class).stream().filter(e -> e.getKind().isClass() || e.getKind().isInterface()).forEach(e -> framedTypes.add((TypeElement) e));
+
             Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(Vertex.class);
             messager.printMessage(OTHER, elements.size() + " elements with annotation @Vertex");
 
@@ -91,6 +118,11 @@ public final class AnnotationProcessor extends AbstractProcessor {
             messager.printMessage(OTHER, elements.size() + " elements with annotation @Edge");
             elements.stream().filter(e -> e.getKind().isClass() || e.getKind().isInterface()).forEach(e -> generateImplementationClass((TypeElement) e, ElementType.Edge));
 
+            generateFramerIndexClasses();
+            if (roundEnv.processingOver()) {
+                generateFramerIndexResource();
+            }
+
             return true;
         } catch (Exception e) {
             try (StringWriter sw = new StringWriter(); PrintWriter out = new PrintWriter(sw)) {
@@ -165,16 +197,123 @@ public final class AnnotationProcessor extends AbstractProcessor {
                     .addMethod(element);
 
 
-            implementAbstractMethods(description, implClass, elementType);
-            implementFramerMethods(type, implClass, elementType, description.getPostConstructMethods());
+            Vertex vertexAnnotation = type.getAnnotation(Vertex.class);
+            Edge edgeAnnotation = type.getAnnotation(Edge.class);
+            boolean cached = (vertexAnnotation != null && vertexAnnotation.cached()) || (edgeAnnotation != null && edgeAnnotation.cached());
+            Map<String, String> cacheFields = addCacheFields(description, implClass);
+            Map<String, String> adjacencyFields = elementType == ElementType.Vertex ? addAdjacencyFields(description, implClass) : Collections.emptyMap();
+            implementAbstractMethods(description, implClass, elementType, cacheFields, adjacencyFields, cached);
+            CodeBlock defaults = elementType == ElementType.Vertex ? getDefaultValues(description) : CodeBlock.builder().build();
+            implementFramerMethods(type, implClass, elementType, description.getPostConstructMethods(), defaults, cacheFields, adjacencyFields);
+            if (elementType == ElementType.Vertex) {
+                implementBuilder(type, description, implClass);
+            }
 
             JavaFile javaFile = JavaFile.builder(packageEl.getQualifiedName().toString(), implClass.build()).build();
             javaFile.writeTo(filer);
+            addFramer(packageEl, type);
         } catch (IOException e) {
             throw new RuntimeException("Error occurred while generating implementation for " + type.getQualifiedName(), e);
         }
     }
 
+    private void addFramer(PackageElement packageEl, TypeElement type) {
+        String packageName = packageEl.getQualifiedName().toString();
+        ClassName framer = ClassName.get(packageName, type.getSimpleName() + "$Impl", type.getSimpleName() + "Framer");
+        package2Framers.computeIfAbsent(packageName, p -> new TreeSet<>(Comparator.comparing(ClassName::toString))).add(framer);
+    }
+
+    /**
+     * Generates a {@link FramerIndex} implementation for each package, so the framers can be registered at runtime
+     * without scanning the classpath. The framers compiled before, found on the class path of an incremental compile,
+     * are indexed too.
+     */
+    private void generateFramerIndexClasses() throws IOException {
+        for (Map.Entry<String, Set<ClassName>> entry : package2Framers.entrySet()) {
+            if (!indexedPackages.add(entry.getKey())) {
+                continue;
+            }
+            addCompiledFramers(entry.getKey(), entry.getValue());
+
+            messager.printMessage(OTHER, "Generating " + entry.getKey() + "." + FramerIndex.CLASS_NAME);
+
+            TypeName framerType = ParameterizedTypeName.get(ClassName.get(IFramer.class), WildcardTypeName.subtypeOf(Object.class), WildcardTypeName.subtypeOf(Object.class));
+            CodeBlock.Builder instances = CodeBlock.builder();
+            for (ClassName framer : entry.getValue()) {
+                instances.add(instances.build().isEmpty() ? "new $T()" : ", new $T()", framer);
+            }
+
+            MethodSpec framers = MethodSpec.methodBuilder("framers").addModifiers(PUBLIC)
+                    .returns(ParameterizedTypeName.get(ClassName.get(List.class), framerType))
+                    .addStatement("return $T.<$T>asList($L)", Arrays.class, framerType, instances.build())
+                    .build();
+
+            TypeSpec index = TypeSpec.classBuilder(FramerIndex.CLASS_NAME)
+                    .addModifiers(PUBLIC, FINAL)
+                    .addSuperinterface(FramerIndex.class)
+                    .addMethod(framers)
+                    .build();
+
+            JavaFile.builder(entry.getKey(), index).build().writeTo(filer);
+        }
+    }
+
+    private void addCompiledFramers(String packageName, Set<ClassName> framers) {
+        PackageElement packageEl = elements.getPackageElement(packageName);
+        if (packageEl == null) {
+            return;
+        }
+        for (Element type : packageEl.getEnclosedElements()) {
+            if (type.getSimpleName().toString().endsWith("$Impl")) {
+                type.getEnclosedElements().stream()
+                        .filter(e -> e.getKind() == CLASS && e.getAnnotation(Framer.class) != null)
+                        .forEach(e -> framers.add(ClassName.get((TypeElement) e)));
+            }
+        }
+    }
+
+    /**
+     * Lists the generated {@link FramerIndex} classes in the {@link FramerIndex#RESOURCE} classpath resource, together
+     * with the still existing index classes listed by a previous compile.
+     */
+    private void generateFramerIndexResource() throws IOException {
+        if (indexedPackages.isEmpty()) {
+            return;
+        }
+
+        Set<String> indexClasses = new TreeSet<>();
+        indexedPackages.forEach(packageName -> indexClasses.add(packageName + "." + FramerIndex.CLASS_NAME));
+        for (String indexClass : readFramerIndexResource()) {
+            if (elements.getTypeElement(indexClass) != null) {
+                indexClasses.add(indexClass);
+            }
+        }
+
+        try (Writer writer = filer.createResource(CLASS_OUTPUT, "", FramerIndex.RESOURCE).openWriter()) {
+            for (String indexClass : indexClasses) {
+                writer.write(indexClass + "\n");
+            }
+        }
+    }
+
+    private List<String> readFramerIndexResource() {
+        List<String> lines = new ArrayList<>();
+        try {
+            FileObject resource = filer.getResource(CLASS_OUTPUT, "", FramerIndex.RESOURCE);
+            try (BufferedReader reader = new BufferedReader(resource.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        lines.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous compile
+        }
+        return lines;
+    }
+
     private Set<TypeElement> getAllImplementingInterfaces(TypeElement type) {
         Set<TypeElement> results = new HashSet<>();
         for (TypeMirror tmp : type.getInterfaces()) {
@@ -255,11 +394,12 @@ public final class AnnotationProcessor extends AbstractProcessor {
                     .addMethod(getValue)
                     .addMethod(setValue);
 
-            implementAbstractMethods(description, implClass, ElementType.VertexProperty);
-            implementFramerMethods(type, implClass, ElementType.VertexProperty, description.getPostConstructMethods());
+            implementAbstractMethods(description, implClass, ElementType.VertexProperty, Collections.emptyMap(), Collections.emptyMap(), false);
+            implementFramerMethods(type, implClass, ElementType.VertexProperty, description.getPostConstructMethods(), CodeBlock.builder().build(), Collections.emptyMap(), Collections.emptyMap());
 
             JavaFile javaFile = JavaFile.builder(packageEl.getQualifiedName().toString(), implClass.build()).build();
             javaFile.writeTo(filer);
+            addFramer(packageEl, type);
 
         } catch (IOException e) {
             messager.printMessage(WARNING, "An exception occurred while generating " + type.getQualifiedName() + "$Impl");
@@ -267,20 +407,74 @@ public final class AnnotationProcessor extends AbstractProcessor {
         }
     }
 
-    private void implementAbstractMethods(ClassDescription description, TypeSpec.Builder implClass, ElementType elementType) throws IOException {
+    private void implementAbstractMethods(ClassDescription description, TypeSpec.Builder implClass, ElementType elementType, Map<String, String> cacheFields, Map<String, String> adjacencyFields, boolean cached) throws IOException {
         for (ExecutableElement method : description.getMethods()) {
             MethodType methodType = MethodType.getType(method);
             MethodSpec m;
             if (description.isProperty(method)) {
-                m = implementAbstractPropertyMethod(method, methodType, description.getLabel(method), elementType);
+                m = implementAbstractPropertyMethod(method, methodType, description.getLabel(method), elementType, cacheFields.get(description.getLabel(method)), cached);
             } else {
-                m = implementAbstractEdgeMethod(method, methodType, description.getLabel(method), elementType);
+                m = implementAbstractEdgeMethod(method, methodType, description.getLabel(method), elementType, adjacencyFields.get(description.getLabel(method)));
             }
             implClass.addMethod(m);
         }
     }
 
-    private MethodSpec implementAbstractPropertyMethod(ExecutableElement method, MethodType methodType, String label, ElementType elementType) throws IOException {
+    /**
+     * Adds a value and a loaded field for every single-valued property with a getter. The fields are named after the
+     * property label and returned by label. The fields hold the values of cached frames, and the values pre-filled by
+     * hydrating traversals.
+     */
+    private Map<String, String> addCacheFields(ClassDescription description, TypeSpec.Builder implClass) {
+        Map<String, String> cacheFields = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (ExecutableElement method : description.getMethods()) {
+            String label = description.getLabel(method);
+            if (description.isProperty(method) && MethodType.getType(method) == MethodType.GETTER && !cacheFields.containsKey(label)
+                    && getCollectionType(method.getReturnType()) == null && !isVertexProperty(method.getReturnType())) {
+                String name = label.replaceAll("[^A-Za-z0-9_]", "_");
+                while (!names.add(name)) {
+                    name = name + "_";
+                }
+                implClass.addField(Object.class, name + "$value", PRIVATE);
+                implClass.addField(boolean.class, name + "$loaded", PRIVATE);
+                cacheFields.put(label, name);
+            }
+        }
+        return cacheFields;
+    }
+
+    /**
+     * Adds a field per edge label with a plain relation getter, holding the edges pre-loaded by fetching traversals.
+     * The fields are returned by label.
+     */
+    private Map<String, String> addAdjacencyFields(ClassDescription description, TypeSpec.Builder implClass) {
+        Map<String, String> adjacencyFields = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (ExecutableElement method : description.getMethods()) {
+            String label = description.getLabel(method);
+            if (!description.isProperty(method) && MethodType.getType(method) == MethodType.GETTER && !adjacencyFields.containsKey(label)
+                    && !isTraversalGetter(method, MethodType.GETTER) && (isVertex(method.getReturnType()) || isRelationCollection(method.getReturnType()))) {
+                String name = label.replaceAll("[^A-Za-z0-9_]", "_");
+                while (!names.add(name)) {
+                    name = name + "_";
+                }
+                implClass.addField(ParameterizedTypeName.get(List.class, org.apache.tinkerpop.gremlin.structure.Edge.class), name + "$edges", PRIVATE);
+                adjacencyFields.put(label, name);
+            }
+        }
+        return adjacencyFields;
+    }
+
+    private boolean isRelationCollection(TypeMirror type) {
+        if (getCollectionType(type) == null || ((DeclaredType) type).getTypeArguments().size() != 1) {
+            return false;
+        }
+        TypeMirror content = ((DeclaredType) type).getTypeArguments().get(0);
+        return isVertex(content) || isEdge(content);
+    }
+
+    private MethodSpec implementAbstractPropertyMethod(ExecutableElement method, MethodType methodType, String label, ElementType elementType, String cacheField, boolean cached) throws IOException {
         String fieldName = elementType.getFieldName();
 
         Set<Modifier> modifiers = new HashSet<>(method.getModifiers());
@@ -292,6 +486,14 @@ public final class AnnotationProcessor extends AbstractProcessor {
         String parameterName = method.getParameters().isEmpty() ? null : method.getParameters().get(0).getSimpleName().toString();
         Element returnClass = method.getReturnType().getKind() == VOID ? null : types.asElement(method.getReturnType());
 
+        if (cacheField != null && (methodType == MethodType.ADDER || methodType == MethodType.REMOVER)) {
+            builder1.addStatement("$L$$loaded = false", cacheField);
+        }
+        boolean invalidates = elementType == ElementType.Vertex && (methodType == MethodType.SETTER || methodType == MethodType.ADDER || methodType == MethodType.REMOVER)
+                || elementType == ElementType.Edge && methodType == MethodType.SETTER;
+        if (invalidates) {
+            builder1.beginControlFlow("try");
+        }
 
         if (methodType == MethodType.GETTER) {
             String className;
@@ -302,7 +504,27 @@ public final class AnnotationProcessor extends AbstractProcessor {
             }
 
             CollectionType collectionType = getCollectionType(method.getReturnType());
-            if (collectionType == null) {
+            if (collectionType == null && cacheField != null) {
+                CodeBlock cachedValue;
+                if (method.getReturnType().getKind().isPrimitive()) {
+                    cachedValue = CodeBlock.of("$L$$value == null ? $L : ($L) $L$$value", cacheField, getDefaultValue(method.getReturnType()), className, cacheField);
+                } else {
+                    cachedValue = CodeBlock.of("($T) $L$$value", method.getReturnType(), cacheField);
+                }
+
+                if (cached) {
+                    builder1.beginControlFlow("if (!$L$$loaded)", cacheField)
+                            .addStatement("$L$$value = $L.property($S).orElse(null)", cacheField, fieldName, label)
+                            .addStatement("$L$$loaded = true", cacheField)
+                            .endControlFlow()
+                            .addStatement("return $L", cachedValue);
+                } else {
+                    builder1.beginControlFlow("if ($L$$loaded)", cacheField)
+                            .addStatement("return $L", cachedValue)
+                            .endControlFlow()
+                            .addStatement("return $L.<$L>property($S).orElse($L)", fieldName, className, label, getDefaultValue(method.getReturnType()));
+                }
+            } else if (collectionType == null) {
                 builder1.addStatement("return $L.<$L>property($S).orElse($L)", fieldName, className, label, getDefaultValue(method.getReturnType()));
             } else {
                 TypeMirror singularizedType = getSingularizedType(method.getReturnType());
@@ -325,19 +547,36 @@ public final class AnnotationProcessor extends AbstractProcessor {
                         .addStatement(fieldName + ".$L($S, $L)", "property", label, parameterName)
                         .endControlFlow();
             }
+            if (cacheField != null && cached) {
+                builder1.addStatement("$L$$value = $L", cacheField, parameterName)
+                        .addStatement("$L$$loaded = true", cacheField);
+            } else if (cacheField != null) {
+                builder1.addStatement("$L$$loaded = false", cacheField);
+            }
         } else if (methodType == MethodType.ADDER && parameterClass != null && returnClass == null) {
-            builder1.addStatement("v.property(org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.list, $S, $L)", label, parameterName);
+            builder1.addStatement("v.property(org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.list, $S, $L$L)", label, parameterName, propertyKeyValues(method));
         } else if (methodType == MethodType.ADDER && parameterClass != null && isVertexProperty(method.getReturnType())) {
-            builder1.addStatement("return graph.frame(v.property(org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.list, $S, $L), $T.class)", label, parameterName, method.getReturnType());
+            builder1.addStatement("return graph.frame(v.property(org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.list, $S, $L$L), $T.class)", label, parameterName, propertyKeyValues(method), method.getReturnType());
         } else if (methodType == MethodType.REMOVER && parameterClass != null && returnClass == null) {
             builder1.addStatement("$T.removeVertexProperty(this, $S, $L)", FrameHelper.class, label, parameterName);
+        } else if (methodType == MethodType.COUNTER) {
+            builder1.addStatement("return $L$T.count($L.properties($S))", countCast(method), IteratorUtils.class, fieldName, label);
+        } else if (methodType == MethodType.EXISTS) {
+            checkBooleanReturnType(method);
+            builder1.addStatement("return $L.properties($S).hasNext()", fieldName, label);
         } else {
             generateNotSupportedStatement("nonstandard-property", method, builder1);
         }
+
+        if (invalidates) {
+            builder1.nextControlFlow("finally")
+                    .addStatement("graph.invalidate($L, $S)", fieldName, label)
+                    .endControlFlow();
+        }
         return builder1.build();
     }
 
-    private MethodSpec implementAbstractEdgeMethod(ExecutableElement method, MethodType methodType, String label, ElementType elementType) throws IOException {
+    private MethodSpec implementAbstractEdgeMethod(ExecutableElement method, MethodType methodType, String label, ElementType elementType, String adjacencyField) throws IOException {
         String elementName = elementType.getFieldName();
 
         Set<Modifier> modifiers = new HashSet<>(method.getModifiers());
@@ -351,10 +590,41 @@ public final class AnnotationProcessor extends AbstractProcessor {
 
         Direction direction = getDirection(method, methodType);
 
-        if (methodType == MethodType.GETTER || methodType == MethodType.FILTERED_GETTER) {
+        boolean invalidates = elementType == ElementType.Vertex && (methodType == MethodType.SETTER || methodType == MethodType.ADD_ALL || methodType == MethodType.ADDER || methodType == MethodType.REMOVER);
+        if (invalidates) {
+            if (adjacencyField != null) {
+                m.addStatement("$L$$edges = null", adjacencyField);
+            }
+            m.beginControlFlow("try");
+        }
+
+        TypeMirror asyncType = getAsyncType(method.getReturnType());
+        if (methodType == MethodType.GETTER && asyncType != null) {
+            CollectionType collectionType = getCollectionType(asyncType);
+            TypeMirror content = getSingularizedType(asyncType);
+            if (elementType != ElementType.Vertex || (collectionType != CollectionType.LIST && collectionType != CollectionType.COLLECTION) || !(isVertex(content) || isEdge(content))) {
+                generateNotSupportedStatement("async-getter", method, m);
+            } else {
+                String variable = isVertex(content) ? "$vertex" : "$edge";
+                String variables = isVertex(content) ? "$vertices" : "$edges";
+                String knownLabel = isVertex(content) ? null : label;
+                CodeBlock frame;
+                if (isMonomorphic(content)) {
+                    frame = CodeBlock.of("$T.frame($L.iterator(), $L -> $L)", FrameHelper.class, variables, variable, frameExpression(content, variable, knownLabel));
+                } else {
+                    frame = CodeBlock.of("graph.frame($L.iterator(), $T.class)", variables, content);
+                }
+                m.addCode("// getter-$L-collection-async\n", isVertex(content) ? "vertex" : "edge");
+                m.addStatement("return graph.loader().$L($L, $T.$L, $S).thenApply($L -> $L)", isVertex(content) ? "vertices" : "edges", elementName, org.apache.tinkerpop.gremlin.structure.Direction.class, direction, label, variables, frame);
+            }
+        } else if (methodType == MethodType.GETTER || methodType == MethodType.FILTERED_GETTER || methodType == MethodType.PAGED_GETTER || methodType == MethodType.PROPERTY_FILTERED_GETTER) {
 
             CollectionType collectionType = getCollectionType(method.getReturnType());
-            if (collectionType != null) {
+            if (collectionType == null && (methodType == MethodType.PAGED_GETTER || methodType == MethodType.PROPERTY_FILTERED_GETTER)) {
+                generateNotSupportedStatement("paged-or-filtered-getter-without-collection", method, m);
+            } else if (collectionType != null && isTraversalGetter(method, methodType) && (elementType != ElementType.Vertex || !hasIntegralParameters(method))) {
+                generateNotSupportedStatement("ordered-or-paged-getter", method, m);
+            } else if (collectionType != null) {
                 DeclaredType returnType = (DeclaredType) method.getReturnType();
                 if (returnType.getTypeArguments().size() != 1) {
                     messager.printMessage(ERROR, "Only one type argument supported: " + method);
@@ -367,29 +637,81 @@ public final class AnnotationProcessor extends AbstractProcessor {
                 Vertex vertexAnnotation = element.getAnnotation(Vertex.class);
                 Edge edgeAnnotation = element.getAnnotation(Edge.class);
 
+                boolean traversal = isTraversalGetter(method, methodType);
                 if (vertexAnnotation != null) {
                     m.addCode("// getter-vertex-collection\n");
-                    m.addStatement("return graph().frame($L.vertices($T.$L, $S), $T.class)", elementName, org.apache.tinkerpop.gremlin.structure.Direction.class, direction, label, collectionContent);
+                    CodeBlock source = traversal ? traversal(method, direction, label, true) : adjacent("vertices", elementName, adjacencyField, methodType, direction, label);
+                    if (isLazy(method, collectionType)) {
+                        returnLazyCollection(m, collectionType, source, collectionContent, "$vertex", null);
+                    } else if (isMonomorphic(collectionContent)) {
+                        m.addStatement("return $T.frame($L, $$vertex -> $L)", FrameHelper.class, source, frameExpression(collectionContent, "$vertex", null));
+                    } else {
+                        m.addStatement("return graph().frame($L, $T.class)", source, collectionContent);
+                    }
                 } else if (edgeAnnotation != null) {
                     m.addCode("// getter-edge-collection\n");
-                    m.addStatement("return graph.frame($L.edges($T.$L, $S), $T.class)", elementName, org.apache.tinkerpop.gremlin.structure.Direction.class, direction, label, collectionContent);
+                    CodeBlock source = traversal ? traversal(method, direction, label, false) : adjacent("edges", elementName, adjacencyField, methodType, direction, label);
+                    if (isLazy(method, collectionType)) {
+                        returnLazyCollection(m, collectionType, source, collectionContent, "$edge", label);
+                    } else if (isMonomorphic(collectionContent)) {
+                        m.addStatement("return $T.frame($L, $$edge -> $L)", FrameHelper.class, source, frameExpression(collectionContent, "$edge", label));
+                    } else {
+                        m.addStatement("return graph.frame($L, $T.class)", source, collectionContent);
+                    }
                 } else {
                     generateNotSupportedStatement("get-collection-no-vertex-or-edge", method, m);
                 }
             } else if (isVertex(method.getReturnType()) && elementType == ElementType.Vertex) {
                 m.addCode("// vertex-getter-vertex\n");
-                m.addStatement("$T<Vertex> it = v.vertices($T.$L, $S);", Iterator.class, org.apache.tinkerpop.gremlin.structure.Direction.class, direction, label)
-                        .addStatement("return it.hasNext() ? graph.frame(it.next(), $T.class) : null", method.getReturnType());
+                if (isMonomorphic(method.getReturnType())) {
+                    m.addStatement("$T<Vertex> $$it = $L", Iterator.class, adjacent("vertices", elementName, adjacencyField, methodType, direction, label))
+                            .beginControlFlow("if (!$$it.hasNext())")
+                            .addStatement("return null")
+                            .endControlFlow();
+                    returnFramed(m, method.getReturnType(), CodeBlock.of("$$it.next()"), null);
+                } else {
+                    m.addStatement("$T<Vertex> $$it = $L", Iterator.class, adjacent("vertices", elementName, adjacencyField, methodType, direction, label))
+                            .addStatement("return $$it.hasNext() ? graph.frame($$it.next(), $T.class) : null", method.getReturnType());
+                }
             } else if (isVertex(method.getReturnType()) && elementType != ElementType.Vertex) {
                 m.addCode("// edge-getter-vertex\n");
                 boolean in = method.getAnnotation(In.class) != null;
-                m.addStatement("return graph().frame($L.$LVertex(), $T.class)", elementName, in ? "in" : "out", method.getReturnType());
+                if (isMonomorphic(method.getReturnType())) {
+                    returnFramed(m, method.getReturnType(), CodeBlock.of("$L.$LVertex()", elementName, in ? "in" : "out"), null);
+                } else {
+                    m.addStatement("return graph().frame($L.$LVertex(), $T.class)", elementName, in ? "in" : "out", method.getReturnType());
+                }
             } else if (isEdge(method.getReturnType()) && elementType == ElementType.Vertex) {
                 m.addCode("// vertex-getter-edge\n");
                 m.addStatement("return $T.filterEdge(this, $S, (($T)$L), $T.class)", FrameHelper.class, label, FramedVertex.class, parameterName, method.getReturnType());
             } else {
                 generateNotSupportedStatement("get-no-vertex-or-edge", method, m);
             }
+        } else if (methodType == MethodType.COUNTER && elementType == ElementType.Vertex) {
+            m.addCode("// vertex-counter\n");
+            CodeBlock count = CodeBlock.of("graph.traversal().V($L).$LE($S).count().next()", elementName, direction.name().toLowerCase(), label);
+            m.addStatement("return $L", countCast(method).isEmpty() ? count : CodeBlock.of("$L.intValue()", count));
+        } else if (methodType == MethodType.EXISTS && elementType == ElementType.Vertex) {
+            m.addCode("// vertex-exists\n");
+            checkBooleanReturnType(method);
+            m.addStatement("return graph.traversal().V($L).$LE($S).limit(1).hasNext()", elementName, direction.name().toLowerCase(), label);
+        } else if (methodType == MethodType.FILTERED_EXISTS && elementType == ElementType.Vertex && parameterClass != null && parameterClass.getAnnotation(Vertex.class) != null) {
+            m.addCode("// vertex-exists-vertex\n");
+            checkBooleanReturnType(method);
+            m.beginControlFlow("if ($L == null)", parameterName)
+                    .addStatement("throw new $T($S)", IllegalArgumentException.class, "Filter value is <null>")
+                    .endControlFlow();
+            m.addStatement("return graph.traversal().V($L).$L($S).is((($T) $L).vertex()).limit(1).hasNext()", elementName, direction.name().toLowerCase(), label, FramedVertex.class, parameterName);
+        } else if ((methodType == MethodType.SETTER || methodType == MethodType.ADD_ALL) && getCollectionType(method.getParameters().get(0).asType()) != null) {
+            if (returnClass != null || !isVertex(getSingularizedType(method.getParameters().get(0).asType()))) {
+                generateNotSupportedStatement("bulk-update-without-vertices", method, m);
+            } else if (methodType == MethodType.SETTER) {
+                m.addCode("// vertex-setter-vertices\n");
+                m.addStatement("$T.setEdges(v, $S, $L)", FrameHelper.class, label, parameterName);
+            } else {
+                m.addCode("// vertex-adder-vertices\n");
+                m.addStatement("$T.addEdges(v, $S, $L)", FrameHelper.class, label, parameterName);
+            }
         } else if (methodType == MethodType.SETTER) {
             m.addCode("// vertex-setter-vertex\n");
 
@@ -398,14 +720,19 @@ public final class AnnotationProcessor extends AbstractProcessor {
             String statement = "v.addEdge($S, ((FramedVertex)$L).vertex())";
             args.add(label);
             args.add(parameterName);
-            if (returnClass != null && returnClass.getAnnotation(Edge.class) != null) {
+            boolean returnsEdge = returnClass != null && returnClass.getAnnotation(Edge.class) != null;
+            if (returnsEdge && !isMonomorphic(method.getReturnType())) {
                 statement = "return graph.frame(" + statement + ", $T.class)";
                 args.add(method.getReturnType());
             }
 
-            m.addStatement("v.edges($T.OUT, $S).forEachRemaining(e -> e.remove())", org.apache.tinkerpop.gremlin.structure.Direction.class, label)
-                    .beginControlFlow("if ($L != null)", parameterName)
-                    .addStatement(statement, args.toArray());
+            m.addStatement("v.edges($T.OUT, $S).forEachRemaining($$edge -> $$edge.remove())", org.apache.tinkerpop.gremlin.structure.Direction.class, label)
+                    .beginControlFlow("if ($L != null)", parameterName);
+            if (returnsEdge && isMonomorphic(method.getReturnType())) {
+                returnFramed(m, method.getReturnType(), CodeBlock.of(statement, args.toArray()), label);
+            } else {
+                m.addStatement(statement, args.toArray());
+            }
             if (method.getReturnType().getKind() != VOID) {
                 m.nextControlFlow("else")
                         .addStatement("return null");
@@ -414,19 +741,24 @@ public final class AnnotationProcessor extends AbstractProcessor {
         } else if (methodType == MethodType.ADDER) {
             m.addCode("// vertex-adder-vertex\n");
             if (parameterClass != null && parameterClass.getAnnotation(Vertex.class) != null) {
-                String statement = "v.addEdge($S, (($T) $L).vertex())";
+                String statement = "v.addEdge($S, (($T) $L).vertex()$L)";
 
                 List<Object> args = new ArrayList<>();
                 args.add(label);
                 args.add(FramedVertex.class);
                 args.add(parameterName);
+                args.add(propertyKeyValues(method));
 
-                if (returnClass != null && returnClass.getAnnotation(Edge.class) != null) {
-                    statement = "return graph.frame(" + statement + ", $T.class)";
-                    args.add(method.getReturnType());
+                boolean returnsEdge = returnClass != null && returnClass.getAnnotation(Edge.class) != null;
+                if (returnsEdge && isMonomorphic(method.getReturnType())) {
+                    returnFramed(m, method.getReturnType(), CodeBlock.of(statement, args.toArray()), label);
+                } else {
+                    if (returnsEdge) {
+                        statement = "return graph.frame(" + statement + ", $T.class)";
+                        args.add(method.getReturnType());
+                    }
+                    m.addStatement(statement, args.toArray());
                 }
-
-                m.addStatement(statement, args.toArray());
             } else {
                 generateNotSupportedStatement("added-without-vertex-parameter", method, m);
             }
@@ -437,13 +769,188 @@ public final class AnnotationProcessor extends AbstractProcessor {
             } else if (parameterClass.getAnnotation(Edge.class) != null) {
                 m.addStatement("(($T)$L).remove()", FramedElement.class, parameterName);
             }
+        } else {
+            generateNotSupportedStatement("nonstandard-edge", method, m);
         }
 
-
+        if (invalidates) {
+            m.nextControlFlow("finally")
+                    .addStatement("graph.invalidateEdges($S)", label)
+                    .endControlFlow();
+        }
         return m.build();
     }
 
-    private void implementFramerMethods(TypeElement type, TypeSpec.Builder implClass, ElementType elementType, List<ExecutableElement> postContructMethods) throws IOException {
+    /**
+     * Reads the adjacent vertices or edges, from the pre-loaded edges of the getter when the frame has them. Adjacent
+     * vertices are otherwise read through the adjacency cache of the graph.
+     */
+    private CodeBlock adjacent(String method, String elementName, String adjacencyField, MethodType methodType, Direction direction, String label) {
+        if (adjacencyField == null || methodType != MethodType.GETTER) {
+            return CodeBlock.of("$L.$L($T.$L, $S)", elementName, method, org.apache.tinkerpop.gremlin.structure.Direction.class, direction, label);
+        }
+        String graph = method.equals("vertices") ? "graph, " : "";
+        return CodeBlock.of("$T.$L($L$L, $L$$edges, $T.$L, $S)", FrameHelper.class, method, graph, elementName, adjacencyField, org.apache.tinkerpop.gremlin.structure.Direction.class, direction, label);
+    }
+
+    /**
+     * Filtered, ordered, paged and limited relation getters are executed as a traversal, so the backend can filter,
+     * order and page the adjacency of the vertex, e.g. using vertex-centric indices.
+     */
+    private boolean isTraversalGetter(ExecutableElement method, MethodType methodType) {
+        return methodType == MethodType.PAGED_GETTER || methodType == MethodType.PROPERTY_FILTERED_GETTER
+                || method.getAnnotation(OrderBy.class) != null
+                || (methodType == MethodType.FILTERED_GETTER && hasIntegralParameters(method));
+    }
+
+    /**
+     * @return whether the parameters that are not edge property filters are a limit or an offset and limit pair
+     */
+    private boolean hasIntegralParameters(ExecutableElement method) {
+        List<? extends VariableElement> parameters = getPagingParameters(method);
+        return parameters.size() <= 2 && parameters.stream().map(p -> p.asType().getKind()).allMatch(k -> k == TypeKind.INT || k == TypeKind.LONG);
+    }
+
+    private List<? extends VariableElement> getPagingParameters(ExecutableElement method) {
+        return method.getParameters().stream().filter(p -> p.getAnnotation(Property.class) == null).collect(Collectors.toList());
+    }
+
+    private CodeBlock traversal(ExecutableElement method, Direction direction, String label, boolean toVertex) {
+        CodeBlock.Builder traversal = CodeBlock.builder()
+                .add("graph.traversal().V(v).$LE($S)", direction.name().toLowerCase(), label);
+
+        for (VariableElement parameter : method.getParameters()) {
+            Property property = parameter.getAnnotation(Property.class);
+            if (property != null) {
+                Compare compare = parameter.getAnnotation(Compare.class);
+                Compare.Operator operator = compare == null ? Compare.Operator.EQ : compare.value();
+                String key = property.value().isEmpty() ? parameter.getSimpleName().toString() : property.value();
+                traversal.add(".has($S, $T.$L($L))", key, P.class, operator.name().toLowerCase(), parameter.getSimpleName());
+            }
+        }
+
+        OrderBy orderBy = method.getAnnotation(OrderBy.class);
+        if (orderBy != null) {
+            traversal.add(".order().by($S, $T.$L)", orderBy.value(), Order.class, orderBy.descending() ? "decr" : "incr");
+        }
+
+        List<? extends VariableElement> parameters = getPagingParameters(method);
+        if (parameters.size() == 1) {
+            traversal.add(".limit($L)", parameters.get(0).getSimpleName());
+        } else if (parameters.size() == 2) {
+            traversal.add(".range($L, (long) $L + $L)", parameters.get(0).getSimpleName(), parameters.get(0).getSimpleName(), parameters.get(1).getSimpleName());
+        }
+
+        if (toVertex) {
+            traversal.add(".$L()", direction == OUT ? "inV" : direction == IN ? "outV" : "otherV");
+        }
+        return traversal.build();
+    }
+
+    /**
+     * Generates the key/value arguments for the {@link Property} parameters following the first parameter of an adder,
+     * so the edge or vertex property is created together with its properties. Pairs with a {@code null} value are
+     * left out at runtime.
+     */
+    private CodeBlock propertyKeyValues(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() < 2) {
+            return CodeBlock.of("");
+        }
+
+        CodeBlock.Builder keyValues = CodeBlock.builder();
+        boolean nullable = false;
+        for (VariableElement parameter : parameters.subList(1, parameters.size())) {
+            Property property = parameter.getAnnotation(Property.class);
+            String key = property.value().isEmpty() ? parameter.getSimpleName().toString() : property.value();
+            keyValues.add(keyValues.build().isEmpty() ? "$S, $L" : ", $S, $L", key, parameter.getSimpleName());
+            nullable |= !parameter.asType().getKind().isPrimitive();
+        }
+        return nullable ? CodeBlock.of(", $T.withoutNullValues($L)", FrameHelper.class, keyValues.build()) : CodeBlock.of(", $L", keyValues.build());
+    }
+
+    private String countCast(ExecutableElement method) {
+        switch (method.getReturnType().getKind()) {
+            case LONG:
+                return "";
+            case INT:
+                return "(int) ";
+            default:
+                messager.printMessage(ERROR, "Count methods must return long or int: " + method);
+                return "";
+        }
+    }
+
+    private void checkBooleanReturnType(ExecutableElement method) {
+        if (method.getReturnType().getKind() != TypeKind.BOOLEAN) {
+            messager.printMessage(ERROR, "Exists methods must return boolean: " + method);
+        }
+    }
+
+    private boolean isLazy(ExecutableElement method, CollectionType collectionType) {
+        return collectionType == CollectionType.ITERABLE || collectionType == CollectionType.STREAM
+                || (collectionType == CollectionType.LIST && method.getAnnotation(Lazy.class) != null);
+    }
+
+    /**
+     * Returns the relation without reading the adjacency upfront, framing each element when it is consumed.
+     */
+    private void returnLazyCollection(MethodSpec.Builder m, CollectionType collectionType, CodeBlock source, TypeMirror type, String variable, String knownLabel) {
+        CodeBlock framer;
+        if (isMonomorphic(type)) {
+            framer = CodeBlock.of("$L -> $L", variable, frameExpression(type, variable, knownLabel));
+        } else {
+            framer = CodeBlock.of("$L -> graph.frame($L, $T.class)", variable, variable, type);
+        }
+
+        if (collectionType == CollectionType.ITERABLE) {
+            m.addStatement("return $T.iterable(() -> $L, $L)", FrameHelper.class, source, framer);
+        } else if (collectionType == CollectionType.STREAM) {
+            m.addStatement("return $T.stream($L, $L)", FrameHelper.class, source, framer);
+        } else {
+            m.addStatement("return $T.lazyList($L, $L)", FrameHelper.class, source, framer);
+        }
+    }
+
+    /**
+     * A framed type is monomorphic when no other framed type of this compilation extends it. Such types are framed by
+     * instantiating their implementation class directly, instead of looking up the framer in the registry.
+     */
+    private boolean isMonomorphic(TypeMirror type) {
+        Element element = types.asElement(type);
+        if (!framedTypes.contains(element)) {
+            return false;
+        }
+        TypeMirror erasure = types.erasure(type);
+        return framedTypes.stream().noneMatch(t -> !t.equals(element) && types.isAssignable(types.erasure(t.asType()), erasure));
+    }
+
+    /**
+     * Generates the expression framing the element in {@code variable} as the monomorphic {@code type}. Unless the label
+     * of the element is known upfront, elements with another label are still framed via the registry, as they might
+     * belong to a subtype compiled separately.
+     */
+    private CodeBlock frameExpression(TypeMirror type, String variable, String knownLabel) {
+        TypeElement element = (TypeElement) types.asElement(type);
+        String packageName = ((PackageElement) element.getEnclosingElement()).getQualifiedName().toString();
+        ClassName impl = ClassName.get(packageName, element.getSimpleName() + "$Impl");
+        String label = getLabel(element);
+        CodeBlock construct = CodeBlock.of("graph.framesDirectly() ? new $T($L, graph) : graph.frame($L, $T.class, $T::new)", impl, variable, variable, ClassName.get(element), impl);
+        if (label.equals(knownLabel)) {
+            return construct;
+        } else {
+            return CodeBlock.of("$S.equals($L.label()) ? ($L) : graph.frame($L, $T.class)", label, variable, construct, variable, type);
+        }
+    }
+
+    private void returnFramed(MethodSpec.Builder m, TypeMirror type, CodeBlock element, String knownLabel) {
+        Class<?> elementClass = isEdge(type) ? org.apache.tinkerpop.gremlin.structure.Edge.class : org.apache.tinkerpop.gremlin.structure.Vertex.class;
+        String variable = isEdge(type) ? "$edge" : "$vertex";
+        m.addStatement("$T $L = $L", elementClass, variable, element);
+        m.addStatement("return $L", frameExpression(type, variable, knownLabel));
+    }
+
+    private void implementFramerMethods(TypeElement type, TypeSpec.Builder implClass, ElementType elementType, List<ExecutableElement> postContructMethods, CodeBlock defaults, Map<String, String> cacheFields, Map<String, String> adjacencyFields) throws IOException {
         String fieldName = elementType.getFieldName();
 
         MethodSpec hashCode = MethodSpec.methodBuilder("hashCode").addModifiers(PUBLIC).returns(TypeName.INT)
@@ -484,7 +991,7 @@ public final class AnnotationProcessor extends AbstractProcessor {
                 .returns(ClassName.get(type))
                 .addParameter(elementType.getClazz(), fieldName)
                 .addParameter(FramedGraph.class, "graph")
-                .addStatement("return new $T$$Impl($L, graph)", type, fieldName)
+                .addStatement("return graph.framesDirectly() ? new $T$$Impl($L, graph) : graph.frame($L, $T.class, $T$$Impl::new)", type, fieldName, fieldName, type, type)
                 .build();
 
 
@@ -502,20 +1009,214 @@ public final class AnnotationProcessor extends AbstractProcessor {
             frameNew.addStatement("return f");
         }
 
-        TypeSpec framer = TypeSpec.classBuilder(type.getSimpleName() + "Framer").addModifiers(PUBLIC, STATIC, FINAL)
+        TypeSpec.Builder framer = TypeSpec.classBuilder(type.getSimpleName() + "Framer").addModifiers(PUBLIC, STATIC, FINAL)
                 .addSuperinterface(framerInt)
                 .addAnnotation(Framer.class)
                 .addMethod(mType)
                 .addMethod(frameClass)
                 .addMethod(label)
                 .addMethod(frame)
-                .addMethod(frameNew.build())
-                .build();
+                .addMethod(frameNew.build());
+
+        if (!postContructMethods.isEmpty()) {
+            framer.addMethod(MethodSpec.methodBuilder("hasPostConstruct").addModifiers(PUBLIC)
+                    .returns(boolean.class)
+                    .addStatement("return true")
+                    .build());
+        }
+        if (!defaults.isEmpty()) {
+            framer.addMethod(MethodSpec.methodBuilder("defaults").addModifiers(PUBLIC)
+                    .returns(Object[].class)
+                    .addStatement("return new Object[]{$L}", defaults)
+                    .build());
+        }
+
+        if (!cacheFields.isEmpty() || !adjacencyFields.isEmpty()) {
+            MethodSpec.Builder hydrate = MethodSpec.methodBuilder("hydrate").addModifiers(PUBLIC)
+                    .addParameter(ParameterizedTypeName.get(Map.class, String.class, Object.class), "properties")
+                    .addParameter(ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ParameterizedTypeName.get(List.class, org.apache.tinkerpop.gremlin.structure.Edge.class)), "edges");
+            CodeBlock.Builder keys = CodeBlock.builder();
+            if (!cacheFields.isEmpty()) {
+                hydrate.beginControlFlow("for ($T<$T, $T> property : properties.entrySet())", Map.Entry.class, String.class, Object.class)
+                        .beginControlFlow("switch (property.getKey())");
+                cacheFields.forEach((key, field) -> {
+                    hydrate.addCode("case $S:\n$>", key)
+                            .addStatement("$L$$value = property.getValue()", field)
+                            .addStatement("$L$$loaded = true", field)
+                            .addStatement("break$<");
+                    keys.add(keys.build().isEmpty() ? "$S" : ", $S", key);
+                });
+                hydrate.endControlFlow()
+                        .endControlFlow();
+            }
+            CodeBlock.Builder labels = CodeBlock.builder();
+            adjacencyFields.forEach((edgeLabel, field) -> {
+                hydrate.beginControlFlow("if (edges.containsKey($S))", edgeLabel)
+                        .addStatement("$L$$edges = edges.get($S)", field, edgeLabel)
+                        .endControlFlow();
+                labels.add(labels.build().isEmpty() ? "$S" : ", $S", edgeLabel);
+            });
+
+            implClass.addSuperinterface(Hydratable.class)
+                    .addMethod(hydrate.build());
+            if (!cacheFields.isEmpty()) {
+                framer.addMethod(MethodSpec.methodBuilder("propertyKeys").addModifiers(PUBLIC)
+                        .returns(String[].class)
+                        .addStatement("return new String[]{$L}", keys.build())
+                        .build());
+            }
+            if (!adjacencyFields.isEmpty()) {
+                framer.addMethod(MethodSpec.methodBuilder("edgeLabels").addModifiers(PUBLIC)
+                        .returns(String[].class)
+                        .addStatement("return new String[]{$L}", labels.build())
+                        .build());
+            }
+        }
+
+        implClass.addType(framer.build());
 
-        implClass.addType(framer);
 
     }
 
+    /**
+     * @return the key/value pairs of the {@link DefaultValue} annotated properties, with the values converted to the
+     * property types
+     */
+    private CodeBlock getDefaultValues(ClassDescription description) {
+        CodeBlock.Builder defaults = CodeBlock.builder();
+        Set<String> keys = new HashSet<>();
+        for (ExecutableElement method : description.getMethods()) {
+            DefaultValue defaultValue = method.getAnnotation(DefaultValue.class);
+            if (defaultValue == null) {
+                continue;
+            }
+
+            MethodType methodType = MethodType.getType(method);
+            if (!description.isProperty(method) || (methodType != MethodType.GETTER && methodType != MethodType.SETTER)) {
+                messager.printMessage(ERROR, "@DefaultValue is only supported on property getters and setters: " + method, method);
+                continue;
+            }
+            TypeMirror propertyType = methodType == MethodType.GETTER ? method.getReturnType() : method.getParameters().get(0).asType();
+            CodeBlock value = getDefaultValue(propertyType, defaultValue.value());
+            if (value == null) {
+                messager.printMessage(ERROR, "Invalid default value \"" + defaultValue.value() + "\" for " + propertyType + ": " + method, method);
+            } else if (keys.add(description.getLabel(method))) {
+                defaults.add(keys.size() == 1 ? "$S, $L" : ", $S, $L", description.getLabel(method), value);
+            }
+        }
+        return defaults.build();
+    }
+
+    /**
+     * @return the literal of the given value for a string, primitive, wrapper or enum type, or {@code null} when the
+     * type is not supported or the value cannot be converted
+     */
+    private CodeBlock getDefaultValue(TypeMirror type, String value) {
+        TypeMirror primitiveType = type;
+        if (!type.getKind().isPrimitive()) {
+            try {
+                primitiveType = types.unboxedType(type);
+            } catch (IllegalArgumentException e) {
+                primitiveType = null;
+            }
+        }
+
+        try {
+            switch (primitiveType == null ? TypeKind.NONE : primitiveType.getKind()) {
+                case BOOLEAN:
+                    return value.equals("true") || value.equals("false") ? CodeBlock.of("$L", value) : null;
+                case BYTE:
+                    return CodeBlock.of("(byte) $L", Byte.parseByte(value));
+                case CHAR:
+                    return value.length() == 1 ? CodeBlock.of("(char) $L", (int) value.charAt(0)) : null;
+                case DOUBLE:
+                    double d = Double.parseDouble(value);
+                    return Double.isInfinite(d) || Double.isNaN(d) ? null : CodeBlock.of("$Ld", d);
+                case FLOAT:
+                    float f = Float.parseFloat(value);
+                    return Float.isInfinite(f) || Float.isNaN(f) ? null : CodeBlock.of("$Lf", f);
+                case INT:
+                    return CodeBlock.of("$L", Integer.parseInt(value));
+                case LONG:
+                    return CodeBlock.of("$LL", Long.parseLong(value));
+                case SHORT:
+                    return CodeBlock.of("(short) $L", Short.parseShort(value));
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (types.isSameType(type, elements.getTypeElement(String.class.getName()).asType())) {
+            return CodeBlock.of("$S", value);
+        }
+        Element typeElement = types.asElement(type);
+        if (typeElement != null && typeElement.getKind() == ElementKind.ENUM) {
+            boolean constant = typeElement.getEnclosedElements().stream()
+                    .anyMatch(e -> e.getKind() == ElementKind.ENUM_CONSTANT && e.getSimpleName().contentEquals(value));
+            return constant ? CodeBlock.of("$T.$L", type, value) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Generates a builder with a method per single-valued property setter, creating the vertex with all its properties
+     * in one {@code addVertex} call.
+     */
+    private void implementBuilder(TypeElement type, ClassDescription description, TypeSpec.Builder implClass) {
+        ClassName builderClass = ClassName.get(((PackageElement) type.getEnclosingElement()).getQualifiedName().toString(), type.getSimpleName() + "$Impl", "Builder");
+        ParameterizedTypeName mapType = ParameterizedTypeName.get(Map.class, String.class, Object.class);
+
+        TypeSpec.Builder builder = TypeSpec.classBuilder("Builder").addModifiers(PUBLIC, STATIC, FINAL)
+                .addField(FramedGraph.class, "graph", PRIVATE, FINAL)
+                .addField(FieldSpec.builder(mapType, "properties", PRIVATE, FINAL).initializer("new $T<>()", LinkedHashMap.class).build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(PRIVATE)
+                        .addParameter(FramedGraph.class, "graph")
+                        .addStatement("this.graph = graph")
+                        .build());
+
+        Set<String> signatures = new HashSet<>();
+        for (ExecutableElement method : description.getMethods()) {
+            if (MethodType.getType(method) != MethodType.SETTER || !description.isProperty(method)) {
+                continue;
+            }
+            VariableElement parameter = method.getParameters().get(0);
+            TypeMirror parameterType = parameter.asType();
+            if (getCollectionType(parameterType) != null || isVertexProperty(parameterType)) {
+                continue;
+            }
+
+            String name = MethodType.SETTER.getPropertyName(method);
+            if (!signatures.add(name + ":" + parameterType)) {
+                continue;
+            }
+
+            MethodSpec.Builder setter = MethodSpec.methodBuilder(name).addModifiers(PUBLIC).returns(builderClass)
+                    .addParameter(TypeName.get(parameterType), name);
+            if (parameterType.getKind().isPrimitive()) {
+                setter.addStatement("this.properties.put($S, $L)", description.getLabel(method), name);
+            } else {
+                setter.beginControlFlow("if ($L == null)", name)
+                        .addStatement("this.properties.remove($S)", description.getLabel(method))
+                        .nextControlFlow("else")
+                        .addStatement("this.properties.put($S, $L)", description.getLabel(method), name)
+                        .endControlFlow();
+            }
+            builder.addMethod(setter.addStatement("return this").build());
+        }
+
+        builder.addMethod(MethodSpec.methodBuilder("create").addModifiers(PUBLIC).returns(ClassName.get(type))
+                .addStatement("return graph.addVertex($T.class, $T.keyValues(properties))", type, FrameHelper.class)
+                .build());
+
+        implClass.addMethod(MethodSpec.methodBuilder("builder").addModifiers(PUBLIC, STATIC).returns(builderClass)
+                .addParameter(FramedGraph.class, "graph")
+                .addStatement("return new $T(graph)", builderClass)
+                .build());
+        implClass.addType(builder.build());
+    }
+
     private void generateNotSupportedStatement(String code, ExecutableElement method, MethodSpec.Builder writer) throws IOException {
         messager.printMessage(WARNING, "Abstract method not yet supported: " + method, method.getEnclosingElement());
         writer.addCode("// TODO: this method cannot be generated and should be implemented\n");
@@ -586,13 +1287,13 @@ public final class AnnotationProcessor extends AbstractProcessor {
             TypeMirror singularType;
 
             MethodType type = MethodType.getType(method);
-            if (type == MethodType.SETTER || type == MethodType.REMOVER || (type == MethodType.ADDER && method.getReturnType().getKind() == VOID)) {
+            if (type == MethodType.SETTER || type == MethodType.REMOVER || type == MethodType.FILTERED_EXISTS || type == MethodType.ADD_ALL || (type == MethodType.ADDER && method.getReturnType().getKind() == VOID)) {
                 singularType = getSingularizedType(method.getParameters().get(0).asType());
             } else {
-                singularType = getSingularizedType(method.getReturnType());
+                singularType = getSingularizedType(unwrapAsync(method.getReturnType()));
             }
 
-            CollectionType collectionType = getCollectionType(method.getReturnType());
+            CollectionType collectionType = getCollectionType(unwrapAsync(method.getReturnType()));
             if (collectionType != null) {
                 for (Class<?> clazz : collectionType.getImport()) {
                     description.addImport(clazz);
@@ -629,6 +1330,12 @@ public final class AnnotationProcessor extends AbstractProcessor {
                     label = getLabel(edgeClass);
                 }
 
+                isProperty = false;
+            } else if ((type == MethodType.COUNTER || type == MethodType.EXISTS) && method.getAnnotation(Edge.class) != null) {
+                Edge edge = method.getAnnotation(Edge.class);
+                if (!edge.value().isEmpty()) {
+                    label = edge.value();
+                }
                 isProperty = false;
             } else {
                 Property p = method.getAnnotation(Property.class);
@@ -662,12 +1369,32 @@ public final class AnnotationProcessor extends AbstractProcessor {
         }
 
         String property = type.getPropertyName(method);
-        if (getCollectionType(method.getReturnType()) != null) {
+        if (getAsyncType(method.getReturnType()) != null && property.endsWith("Async")) {
+            property = property.substring(0, property.length() - "Async".length());
+        }
+        boolean collectionParameter = method.getParameters().size() == 1 && getCollectionType(method.getParameters().get(0).asType()) != null;
+        if (getCollectionType(unwrapAsync(method.getReturnType())) != null || collectionParameter || type.isSingularized()) {
             property = Inflector.getInstance().singularize(property);
         }
         return property;
     }
 
+    /**
+     * @return the type of the value of a {@code CompletableFuture}, or {@code null} for other types
+     */
+    private TypeMirror getAsyncType(TypeMirror type) {
+        if (type.getKind() != DECLARED || !((TypeElement) types.asElement(type)).getQualifiedName().contentEquals(CompletableFuture.class.getName())) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        return typeArguments.size() == 1 ? typeArguments.get(0) : null;
+    }
+
+    private TypeMirror unwrapAsync(TypeMirror type) {
+        TypeMirror asyncType = getAsyncType(type);
+        return asyncType == null ? type : asyncType;
+    }
+
     private TypeMirror getSingularizedType(TypeMirror type) {
         CollectionType collectionType = getCollectionType(type);
         if (collectionType == null) {
@@ -692,8 +1419,9 @@ public final class AnnotationProcessor extends AbstractProcessor {
         } else {
             direction = OUT;
         }
-        if (type != MethodType.GETTER && direction != OUT) {
-            messager.printMessage(ERROR, "Direction " + direction + " only supported for getter methods currently");
+        boolean limitedGetter = type == MethodType.FILTERED_GETTER && getCollectionType(method.getReturnType()) != null && hasIntegralParameters(method);
+        if (!type.isReadOnly() && !limitedGetter && direction != OUT) {
+            messager.printMessage(ERROR, "Direction " + direction + " only supported for getter, count and exists methods currently");
             direction = OUT;
         }
         return direction;
@@ -785,6 +1513,8 @@ public final class AnnotationProcessor extends AbstractProcessor {
                         } else {
                             messager.printMessage(ERROR, "Unsupported Iterable<T> type: " + clazz);
                         }
+                    } else if (Stream.class.equals(clazz)) {
+                        return CollectionType.STREAM;
                     }
                 } catch (ClassNotFoundException e) {
                     return null;
@@ -798,7 +1528,8 @@ public final class AnnotationProcessor extends AbstractProcessor {
         LIST(List.class, Collections.class),
         COLLECTION(Collection.class, Collections.class),
         SET(Set.class, Collections.class),
-        ITERABLE(DefaultIterable.class);
+        ITERABLE(DefaultIterable.class),
+        STREAM(Stream.class);
 
         private final Class<?>[] importClass;
 
@@ -825,10 +1556,16 @@ public final class AnnotationProcessor extends AbstractProcessor {
 
     private enum MethodType {
         GETTER("get", 0),
+        PROPERTY_FILTERED_GETTER("get", -1),
         FILTERED_GETTER("get", 1),
+        PAGED_GETTER("get", 2),
         SETTER("set", 1),
+        ADD_ALL("addAll", 1),
         ADDER("add", 1),
-        REMOVER("remove", 1);
+        REMOVER("remove", 1),
+        COUNTER("count", 0),
+        EXISTS("has", 0),
+        FILTERED_EXISTS("has", 1);
 
         private final String prefix;
         private final int noParams;
@@ -838,12 +1575,46 @@ public final class AnnotationProcessor extends AbstractProcessor {
             this.noParams = noParams;
         }
 
+        /**
+         * Count and exists methods are matched with the other methods of a relation by their singular name, like
+         * collection getters.
+         */
+        public boolean isSingularized() {
+            return this == COUNTER || this == EXISTS || this == FILTERED_EXISTS;
+        }
+
+        public boolean isReadOnly() {
+            return this == GETTER || this == PAGED_GETTER || this == PROPERTY_FILTERED_GETTER || isSingularized();
+        }
+
         private boolean isMethodType(ExecutableElement method) {
-            return method.getSimpleName().toString().startsWith(prefix) && method.getParameters().size() == noParams;
+            if (!hasPrefix(method.getSimpleName().toString())) {
+                return false;
+            } else if (this == PROPERTY_FILTERED_GETTER) {
+                return method.getParameters().stream().anyMatch(p -> p.getAnnotation(Property.class) != null);
+            } else if (this == ADDER) {
+                return !method.getParameters().isEmpty() && method.getParameters().stream().skip(1).allMatch(p -> p.getAnnotation(Property.class) != null);
+            } else {
+                return method.getParameters().size() == noParams;
+            }
+        }
+
+        /**
+         * The bulk adder prefix must be followed by the capitalized property name, so that e.g. {@code addAllergy} is an
+         * adder and not a bulk adder.
+         */
+        private boolean hasPrefix(String name) {
+            if (!name.startsWith(prefix)) {
+                return false;
+            }
+            return this != ADD_ALL || name.length() == prefix.length() || Character.isUpperCase(name.charAt(prefix.length()));
         }
 
         public String getPropertyName(ExecutableElement method) {
             String property = method.getSimpleName().toString().substring(prefix.length());
+            if (property.isEmpty()) {
+                return property;
+            }
             return property.substring(0, 1).toLowerCase() + property.substring(1, property.length());
         }
 
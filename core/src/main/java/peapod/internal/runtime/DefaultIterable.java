@@ -22,16 +22,24 @@
 package peapod.internal.runtime;
 
 import java.util.Iterator;
+import java.util.function.Supplier;
 
 public class DefaultIterable<T> implements Iterable<T> {
-    private final Iterator<T> iterator;
+    private final Supplier<Iterator<T>> iterator;
 
     public DefaultIterable(Iterator<T> iterator) {
+        this.iterator = () -> iterator;
+    }
+
+    /**
+     * Creates an iterable that can be iterated multiple times, each iteration gets a new iterator from the supplier.
+     */
+    public DefaultIterable(Supplier<Iterator<T>> iterator) {
         this.iterator = iterator;
     }
 
     @Override
     public Iterator<T> iterator() {
-        return iterator;
+        return iterator.get();
     }
 }
@@ -23,13 +23,26 @@ package peapod.internal.runtime;
 
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import peapod.FramedGraph;
 import peapod.FramedVertex;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class FrameHelper {
 
@@ -49,6 +62,45 @@ public class FrameHelper {
         }
     }
 
+    /**
+     * Replaces the outgoing edges with the given label by edges to the given framed vertices. Edges to vertices that
+     * remain linked are kept, so only stale edges are removed and only missing edges are added.
+     */
+    public static void setEdges(Vertex start, String label, Collection<?> ends) {
+        Set<Vertex> missing = toVertices(ends);
+        start.edges(Direction.OUT, label).forEachRemaining(e -> {
+            if (!missing.remove(e.inVertex())) {
+                e.remove();
+            }
+        });
+        missing.forEach(end -> start.addEdge(label, end));
+    }
+
+    /**
+     * Adds outgoing edges with the given label to the given framed vertices that are not linked yet.
+     */
+    public static void addEdges(Vertex start, String label, Collection<?> ends) {
+        Set<Vertex> missing = toVertices(ends);
+        if (missing.isEmpty()) {
+            return;
+        }
+        start.edges(Direction.OUT, label).forEachRemaining(e -> missing.remove(e.inVertex()));
+        missing.forEach(end -> start.addEdge(label, end));
+    }
+
+    private static Set<Vertex> toVertices(Collection<?> framedVertices) {
+        Set<Vertex> vertices = new LinkedHashSet<>();
+        if (framedVertices != null) {
+            for (Object framedVertex : framedVertices) {
+                if (framedVertex == null) {
+                    throw new IllegalArgumentException("Collection contains <null>");
+                }
+                vertices.add(((FramedVertex) framedVertex).vertex());
+            }
+        }
+        return vertices;
+    }
+
     public static <T> T filterEdge(FramedVertex framedVertex, String label, FramedVertex link, Class<T> framedClass) {
         if (link == null) {
             Iterator<Edge> it = framedVertex.vertex().edges(Direction.OUT, label);
@@ -65,8 +117,89 @@ public class FrameHelper {
         }
     }
 
+    /**
+     * Returns the edges of the start vertex, from the pre-loaded edges when not {@code null}.
+     */
+    public static Iterator<Edge> edges(Vertex start, List<Edge> preloaded, Direction direction, String label) {
+        if (preloaded == null) {
+            return start.edges(direction, label);
+        }
+        return preloaded.stream().filter(e -> isIncident(start, e, direction)).iterator();
+    }
+
+    /**
+     * Returns the adjacent vertices of the start vertex, from the pre-loaded edges when not {@code null}, or else
+     * through the adjacency cache of the graph.
+     */
+    public static Iterator<Vertex> vertices(FramedGraph graph, Vertex start, List<Edge> preloaded, Direction direction, String label) {
+        if (preloaded == null) {
+            return graph.vertices(start, direction, label);
+        }
+        return preloaded.stream().filter(e -> isIncident(start, e, direction)).map(e -> other(start, e, direction)).iterator();
+    }
+
+    private static boolean isIncident(Vertex start, Edge edge, Direction direction) {
+        switch (direction) {
+            case OUT:
+                return edge.outVertex().equals(start);
+            case IN:
+                return edge.inVertex().equals(start);
+            default:
+                return true;
+        }
+    }
+
+    static Vertex other(Vertex start, Edge edge, Direction direction) {
+        if (direction == Direction.OUT) {
+            return edge.inVertex();
+        } else if (direction == Direction.IN) {
+            return edge.outVertex();
+        } else {
+            return edge.outVertex().equals(start) ? edge.inVertex() : edge.outVertex();
+        }
+    }
+
+    /**
+     * Reads the values of the given properties with a single {@code properties(keys)} call. Missing properties are
+     * mapped to {@code null}, multi-properties are left out.
+     */
+    public static Map<String, Object> properties(Element e, String... keys) {
+        Map<String, Object> values = new HashMap<>();
+        if (keys.length == 0) {
+            return values;
+        }
+        for (String key : keys) {
+            values.put(key, null);
+        }
+        Set<String> multiple = new HashSet<>();
+        e.properties(keys).forEachRemaining(p -> {
+            if (values.put(p.key(), p.value()) != null) {
+                multiple.add(p.key());
+            }
+        });
+        values.keySet().removeAll(multiple);
+        return values;
+    }
+
+    /**
+     * Picks the values of the given properties from the result of a {@code valueMap} step on the element, which lists
+     * the values of each vertex property. Missing properties are mapped to {@code null}, multi-properties are left out.
+     */
+    public static Map<String, Object> properties(Element e, Map<String, Object> valueMap, String... keys) {
+        Map<String, Object> values = new HashMap<>();
+        for (String key : keys) {
+            Object value = valueMap.get(key);
+            if (!(e instanceof Vertex) || value == null) {
+                values.put(key, value);
+            } else if (((List) value).size() == 1) {
+                values.put(key, ((List) value).get(0));
+            }
+        }
+        return values;
+    }
+
     public static <T> List<T> getLinkedVertices(FramedVertex framedVertex, Direction direction, String label, Class<T> frameClass) {
-        return framedVertex.graph().frame(framedVertex.vertex().vertices(direction, label), frameClass);
+        return framedVertex.graph().frame(framedVertex.graph().vertices(framedVertex.vertex(), direction, label), frameClass);
     }
 
     public static <V, F> F filterVertexProperty(FramedVertex framedVertex, String label, V value, Class<F> frameClass) {
@@ -85,6 +218,45 @@ public class FrameHelper {
         return null;
     }
 
+    public static <E, F> List<F> frame(Iterator<E> it, Function<E, F> framer) {
+        List<F> result = new ArrayList<>();
+        it.forEachRemaining(e -> result.add(framer.apply(e)));
+        return Collections.unmodifiableList(result);
+    }
+
+    public static <E, F> List<F> lazyList(Iterator<E> it, Function<E, F> framer) {
+        return new LazyList<>(it, framer);
+    }
+
+    public static <E, F> Iterable<F> iterable(Supplier<Iterator<E>> it, Function<E, F> framer) {
+        return new DefaultIterable<>(() -> IteratorUtils.map(it.get(), framer));
+    }
+
+    public static <E, F> Stream<F> stream(Iterator<E> it, Function<E, F> framer) {
+        return IteratorUtils.stream(it).map(framer);
+    }
+
+    public static Object[] keyValues(Map<String, Object> properties) {
+        Object[] keyValues = new Object[properties.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            keyValues[i++] = property.getKey();
+            keyValues[i++] = property.getValue();
+        }
+        return keyValues;
+    }
+
+    public static Object[] withoutNullValues(Object... keyValues) {
+        List<Object> result = new ArrayList<>(keyValues.length);
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (keyValues[i + 1] != null) {
+                result.add(keyValues[i]);
+                result.add(keyValues[i + 1]);
+            }
+        }
+        return result.toArray();
+    }
+
     public static <V> List<V> toList(Iterator<V> it) {
         List<V> result = new ArrayList<>();
         it.forEachRemaining(result::add);
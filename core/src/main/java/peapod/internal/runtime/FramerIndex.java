@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import java.util.List;
+
+/**
+ * A compile-time generated index of all framers of a single package. The annotation processor generates one
+ * {@code FramerIndex$Impl} class per package and lists those classes in the {@link #RESOURCE} classpath resource,
+ * so the framers can be registered without scanning the classpath.
+ */
+public interface FramerIndex {
+
+    /**
+     * Classpath resource listing the fully qualified names of the generated index classes, one per line.
+     */
+    String RESOURCE = "META-INF/peapod/framers";
+
+    /**
+     * Simple name of the generated index class in each package.
+     */
+    String CLASS_NAME = "FramerIndex$Impl";
+
+    List<IFramer<?, ?>> framers();
+
+}
@@ -23,41 +23,100 @@ package peapod.internal.runtime;
 
 import org.apache.commons.lang.ClassUtils;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.reflections.Reflections;
+import org.reflections.util.FilterBuilder;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
 
-public class FramerRegistry {
+/**
+ * Immutable and thread-safe registry of all framers of a model. Build it once with {@link #builder()} and share it
+ * between all {@link peapod.FramedGraph} instances framing the same model.
+ * <pre>
+ *     FramerRegistry registry = FramerRegistry.builder().register(Person.class.getPackage()).build();
+ *
+ *     FramedGraph graph = new FramedGraph(g, registry);
+ * </pre>
+ */
+public final class FramerRegistry {
+
+    private static final int VERTEX = 0;
+    private static final int EDGE = 1;
+    private static final int VERTEX_PROPERTY = 2;
 
-    private final Map<String, IFramer<?, ?>> vertexFramers = new HashMap<>();
-    private final Map<String, IFramer<?, ?>> vertexPropertyFramers = new HashMap<>();
-    private final Map<String, IFramer<?, ?>> edgeFramers = new HashMap<>();
+    /**
+     * Largest table tried for a collision free hash of the labels.
+     */
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 16;
 
-    private final Map<Class<?>, IFramer<?, ?>> framers = new HashMap<>();
+    /**
+     * Index of the element type of each element class, computed once per class instead of an instanceof chain per
+     * element.
+     */
+    private static final ClassValue<Integer> ELEMENT_INDEX = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            if (org.apache.tinkerpop.gremlin.structure.VertexProperty.class.isAssignableFrom(type)) {
+                return VERTEX_PROPERTY;
+            } else if (org.apache.tinkerpop.gremlin.structure.Vertex.class.isAssignableFrom(type)) {
+                return VERTEX;
+            } else if (org.apache.tinkerpop.gremlin.structure.Edge.class.isAssignableFrom(type)) {
+                return EDGE;
+            }
+            return -1;
+        }
+    };
+
+    /**
+     * Framers by label, indexed by element type, so a single lookup resolves the framer of any element.
+     */
+    private final Map<String, IFramer<?, ?>[]> label2Framers = new HashMap<>();
+
+    /**
+     * Perfect hash table of the labels, {@code null} when no collision free table was found. Slot {@code i} holds the
+     * label of the framers in {@code framerTable[i]}, so a lookup is one hash, usually cached by the label string, and
+     * one reference or string comparison.
+     */
+    private final String[] labelTable;
+    private final IFramer<?, ?>[][] framerTable;
+
+    private final Map<Class<?>, IFramer<?, ?>> framers;
 
     private final Map<Class<?>, String[]> class2Labels = new HashMap<>();
 
+    /**
+     * Framers of classes that map to exactly one label, i.e. without framed subclasses.
+     */
+    private final Map<Class<?>, IFramer<?, ?>> uniqueFramers = new HashMap<>();
 
-    @SuppressWarnings("unchecked")
-    public void register(Set<Class<?>> classes) {
-        classes.forEach(c -> {
-            try {
-                IFramer framer = (IFramer) c.newInstance();
-                framers.put(framer.frameClass(), framer);
-                if (org.apache.tinkerpop.gremlin.structure.Vertex.class.equals(framer.type())) {
-                    vertexFramers.put(framer.label(), framer);
-                } else if (org.apache.tinkerpop.gremlin.structure.Edge.class.equals(framer.type())) {
-                    edgeFramers.put(framer.label(), framer);
-                } else if (org.apache.tinkerpop.gremlin.structure.VertexProperty.class.equals(framer.type())) {
-                    vertexPropertyFramers.put(framer.label(), framer);
-                }
-            } catch (InstantiationException | IllegalAccessException e) {
-                throw new RuntimeException(e);
+    private FramerRegistry(Map<Class<?>, IFramer<?, ?>> framers) {
+        this.framers = new HashMap<>(framers);
+
+        framers.values().forEach(framer -> {
+            int index = index(framer.type());
+            if (index >= 0) {
+                label2Framers.computeIfAbsent(framer.label(), l -> new IFramer<?, ?>[3])[index] = framer;
             }
         });
 
+        this.labelTable = perfectHashTable(label2Framers.keySet());
+        if (labelTable == null) {
+            this.framerTable = null;
+        } else {
+            this.framerTable = new IFramer<?, ?>[labelTable.length][];
+            for (int i = 0; i < labelTable.length; i++) {
+                if (labelTable[i] != null) {
+                    framerTable[i] = label2Framers.get(labelTable[i]);
+                }
+            }
+        }
+
         Map<Class<?>, HashSet<String>> tmpClass2Labels = new HashMap<>();
         framers.values().forEach(f -> {
             String label = f.label();
@@ -78,17 +137,78 @@ public class FramerRegistry {
             }
         });
         tmpClass2Labels.forEach(((aClass, labels) -> class2Labels.put(aClass, labels.toArray(new String[labels.size()]))));
+        class2Labels.forEach((aClass, labels) -> {
+            if (labels.length == 1) {
+                uniqueFramers.put(aClass, framers.get(aClass));
+            }
+        });
+    }
+
+    private static int index(Class<?> type) {
+        if (org.apache.tinkerpop.gremlin.structure.Vertex.class.equals(type)) {
+            return VERTEX;
+        } else if (org.apache.tinkerpop.gremlin.structure.Edge.class.equals(type)) {
+            return EDGE;
+        } else if (org.apache.tinkerpop.gremlin.structure.VertexProperty.class.equals(type)) {
+            return VERTEX_PROPERTY;
+        }
+        return -1;
+    }
+
+    private static int index(Element e) {
+        return ELEMENT_INDEX.get(e.getClass());
+    }
+
+    private static int slot(String label, int length) {
+        int h = label.hashCode();
+        return (h ^ (h >>> 16)) & (length - 1);
+    }
+
+    /**
+     * @return the smallest power of two sized table in which the labels have distinct slots, or {@code null} when
+     * there is no such table up to the maximum size
+     */
+    private static String[] perfectHashTable(Set<String> labels) {
+        for (int length = Integer.highestOneBit(Math.max(1, labels.size() * 2 - 1)) * 2; length <= MAXIMUM_TABLE_SIZE; length *= 2) {
+            String[] table = new String[length];
+            boolean collision = false;
+            for (String label : labels) {
+                int slot = slot(label, length);
+                if (table[slot] != null) {
+                    collision = true;
+                    break;
+                }
+                table[slot] = label;
+            }
+            if (!collision) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private IFramer<?, ?>[] candidates(String label) {
+        if (labelTable == null) {
+            return label2Framers.get(label);
+        }
+        int slot = slot(label, labelTable.length);
+        String known = labelTable[slot];
+        return known == label || label.equals(known) ? framerTable[slot] : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     @SuppressWarnings("unchecked")
     public <E extends Element, F> IFramer<E, F> get(E e, Class<F> clazz) {
         IFramer<E, F> framer = null;
-        if (e instanceof org.apache.tinkerpop.gremlin.structure.Vertex) {
-            framer = (IFramer<E, F>) vertexFramers.get(e.label());
-        } else if (e instanceof org.apache.tinkerpop.gremlin.structure.Edge) {
-            framer = (IFramer<E, F>) edgeFramers.get(e.label());
-        } else if (e instanceof org.apache.tinkerpop.gremlin.structure.VertexProperty) {
-            framer = (IFramer<E, F>) vertexPropertyFramers.get(e.label());
+        IFramer<?, ?>[] candidates = candidates(e.label());
+        if (candidates != null) {
+            int index = index(e);
+            if (index >= 0) {
+                framer = (IFramer<E, F>) candidates[index];
+            }
         }
         if (framer == null) {
             framer = (IFramer<E, F>) framers.get(clazz);
@@ -108,8 +228,140 @@ public class FramerRegistry {
         return framer;
     }
 
+    /**
+     * Returns the framer of a class that maps to exactly one label. All elements with that label, see
+     * {@link IFramer#frames(Element)}, can be framed with this framer without looking up the framer of each element.
+     * Elements with another label are framed by the framer of their label, as {@link #get(Element, Class)} does.
+     *
+     * @return the framer, or {@code null} when the class is unknown or has framed subclasses
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Element, F> IFramer<E, F> getUnique(Class<F> clazz) {
+        return clazz == null ? null : (IFramer<E, F>) uniqueFramers.get(clazz);
+    }
+
+    /**
+     * @return the keys of the single-valued properties that the framers of all labels of the class can pre-fill, empty
+     * when the class is unknown
+     */
+    public String[] propertyKeys(Class<?> clazz) {
+        IFramer<?, ?> framer = framers.get(clazz);
+        String[] labels = class2Labels.get(clazz);
+        if (framer == null || labels == null) {
+            return new String[0];
+        }
+        int index = index(framer.type());
+        Set<String> keys = new LinkedHashSet<>();
+        for (String label : labels) {
+            IFramer<?, ?>[] candidates = candidates(label);
+            if (candidates != null && index >= 0 && candidates[index] != null) {
+                keys.addAll(Arrays.asList(candidates[index].propertyKeys()));
+            }
+        }
+        return keys.toArray(new String[keys.size()]);
+    }
+
     public <V> String[] labels(Class<V> clazz) {
         return class2Labels.get(clazz);
     }
 
+    /**
+     * Collects the framers of a model. A builder is not thread-safe, the registries it builds are.
+     */
+    public static final class Builder {
+
+        private final Map<Class<?>, IFramer<?, ?>> framers = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers all framers of the given package and its sub packages. The framer indexes generated at compile-time
+         * are used for the packages that have one, the classes of all other packages are scanned for {@link Framer}
+         * annotated classes.
+         */
+        public Builder register(Package pakkage) {
+            String prefix = pakkage.getName() + ".";
+            Set<String> indexedPackages = new HashSet<>();
+            register(loadIndex(prefix, indexedPackages));
+
+            List<Object> params = new ArrayList<>();
+            params.add(prefix);
+            indexedPackages.forEach(p -> params.add(new FilterBuilder.Exclude(Pattern.quote(p + ".") + "[^.]+\\.class")));
+            return register(new Reflections(params.toArray()).getTypesAnnotatedWith(Framer.class));
+        }
+
+        public Builder register(Set<Class<?>> classes) {
+            List<IFramer<?, ?>> instances = new ArrayList<>();
+            classes.forEach(c -> {
+                try {
+                    instances.add((IFramer<?, ?>) c.newInstance());
+                } catch (InstantiationException | IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            return register(instances);
+        }
+
+        public Builder register(Collection<IFramer<?, ?>> instances) {
+            instances.forEach(framer -> framers.put(framer.frameClass(), framer));
+            return this;
+        }
+
+        public FramerRegistry build() {
+            return new FramerRegistry(framers);
+        }
+    }
+
+    /**
+     * Loads the framers of the generated indexes of all packages starting with the given prefix.
+     *
+     * @param indexedPackages receives the names of the packages with an index
+     */
+    private static List<IFramer<?, ?>> loadIndex(String prefix, Set<String> indexedPackages) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = FramerRegistry.class.getClassLoader();
+        }
+
+        List<IFramer<?, ?>> result = new ArrayList<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(FramerIndex.RESOURCE);
+            while (resources.hasMoreElements()) {
+                for (String indexClass : readLines(resources.nextElement())) {
+                    if (indexClass.startsWith(prefix)) {
+                        FramerIndex index;
+                        try {
+                            index = (FramerIndex) Class.forName(indexClass, true, classLoader).newInstance();
+                        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                            // stale index, the package is scanned instead
+                            continue;
+                        }
+                        result.addAll(index.framers());
+                        indexedPackages.add(indexClass.substring(0, indexClass.lastIndexOf('.')));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + FramerIndex.RESOURCE, e);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        return result;
+    }
+
+    private static List<String> readLines(URL url) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implemented by generated frames that keep property values or edges read upfront, so their getters do not access
+ * the element again.
+ */
+public interface Hydratable {
+
+    /**
+     * @param properties the values by property key, a {@code null} value marks a missing property; iterated once
+     * @param edges      all edges of the element by edge label
+     */
+    void hydrate(Map<String, Object> properties, Map<String, List<Edge>> edges);
+
+}
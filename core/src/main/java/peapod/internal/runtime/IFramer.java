@@ -21,9 +21,13 @@
 
 package peapod.internal.runtime;
 
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import peapod.FramedGraph;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * A Framer implementation converts TinkerPop {@link org.apache.tinkerpop.gremlin.structure.Element} instance to framed objects.
  */
@@ -37,6 +41,58 @@ public interface IFramer<E extends Element, F> {
 
     F frame(E element, FramedGraph framedGraph);
 
+    /**
+     * @return whether this framer is the framer of the element's label and element type
+     */
+    default boolean frames(Element element) {
+        String label = label();
+        return (label == element.label() || label.equals(element.label())) && type().isInstance(element);
+    }
+
     F frameNew(E element, FramedGraph framedGraph);
 
+    /**
+     * @return whether {@link #frameNew(Element, FramedGraph)} executes {@code @PostConstruct} methods
+     */
+    default boolean hasPostConstruct() {
+        return false;
+    }
+
+    /**
+     * @return the key/value pairs of the default property values declared with
+     * {@link peapod.annotations.DefaultValue}, which are created together with a new vertex
+     */
+    default Object[] defaults() {
+        return new Object[0];
+    }
+
+    /**
+     * Frames the element with property values and edges that were already read, so the framed getters of these
+     * properties and relations do not access the element again.
+     *
+     * @param properties the values by property key, a {@code null} value marks a missing property
+     * @param edges      all edges of the element by edge label
+     */
+    default F frame(E element, FramedGraph framedGraph, Map<String, Object> properties, Map<String, List<Edge>> edges) {
+        F framed = frame(element, framedGraph);
+        if (framed instanceof Hydratable) {
+            ((Hydratable) framed).hydrate(properties, edges);
+        }
+        return framed;
+    }
+
+    /**
+     * @return the keys of the single-valued properties that can be pre-filled when framing
+     */
+    default String[] propertyKeys() {
+        return new String[0];
+    }
+
+    /**
+     * @return the labels of the edges that can be pre-loaded when framing
+     */
+    default String[] edgeLabels() {
+        return new String[0];
+    }
+
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Size-bounded map of frames by element and framing class, so an element is framed only once as a given class while
+ * it stays in the map. Each thread has its own map, as transactions are bound to threads. The least recently used
+ * frames are evicted first.
+ */
+public final class IdentityMap {
+
+    private final ThreadLocal<Map<Key, Object>> frames;
+
+    public IdentityMap(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.frames = ThreadLocal.withInitial(() -> new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    /**
+     * @return the frame of the element in the map of the current thread, or the frame created and added by the given
+     * function
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Element, F> F frame(E element, Class<F> frameClass, Function<E, F> constructor) {
+        Map<Key, Object> frames = this.frames.get();
+        Key key = new Key(element, frameClass);
+        Object frame = frames.get(key);
+        if (frame == null) {
+            frame = constructor.apply(element);
+            frames.put(key, frame);
+        }
+        return (F) frame;
+    }
+
+    public void remove(Element element) {
+        frames.get().keySet().removeIf(key -> key.element.equals(element));
+    }
+
+    public void clear() {
+        frames.remove();
+    }
+
+    public int size() {
+        return frames.get().size();
+    }
+
+    private static final class Key {
+        private final Element element;
+        private final Class<?> frameClass;
+
+        Key(Element element, Class<?> frameClass) {
+            this.element = element;
+            this.frameClass = frameClass;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && element.equals(((Key) other).element) && frameClass.equals(((Key) other).frameClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(element, frameClass);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Unmodifiable list that frames the elements of the backend iterator on demand. Framed elements are kept, so the
+ * backend iterator is traversed at most once.
+ */
+public class LazyList<E, F> extends AbstractList<F> {
+
+    private final Iterator<E> source;
+    private final Function<E, F> framer;
+    private final List<F> framed = new ArrayList<>();
+
+    public LazyList(Iterator<E> source, Function<E, F> framer) {
+        this.source = source;
+        this.framer = framer;
+    }
+
+    @Override
+    public F get(int index) {
+        if (index < 0 || !fill(index)) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return framed.get(index);
+    }
+
+    @Override
+    public int size() {
+        fill(Integer.MAX_VALUE);
+        return framed.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !fill(0);
+    }
+
+    @Override
+    public Iterator<F> iterator() {
+        return new Iterator<F>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return fill(index);
+            }
+
+            @Override
+            public F next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return framed.get(index++);
+            }
+        };
+    }
+
+    /**
+     * Frames backend elements until the given index is available.
+     *
+     * @return {@code true} if an element exists at the given index
+     */
+    private boolean fill(int index) {
+        while (framed.size() <= index && source.hasNext()) {
+            framed.add(framer.apply(source.next()));
+        }
+        return index < framed.size();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import peapod.ElementCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe {@link ElementCache} evicting the least recently used entries, and the entries older than their time to
+ * live.
+ */
+public final class LruElementCache implements ElementCache {
+
+    private final long timeToLiveNanos;
+
+    private final Map<Object, Entry> entries;
+
+    private long version;
+
+    public LruElementCache(int maximumSize, long timeToLiveNanos) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Map<String, Object> get(Object id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.created > timeToLiveNanos) {
+            entries.remove(id);
+            return null;
+        }
+        return entry.properties;
+    }
+
+    @Override
+    public synchronized void put(Object id, Map<String, Object> properties) {
+        entries.put(id, new Entry(properties, System.nanoTime()));
+    }
+
+    @Override
+    public synchronized long version() {
+        return version;
+    }
+
+    @Override
+    public synchronized void put(Object id, Map<String, Object> properties, long version) {
+        if (version == this.version) {
+            put(id, properties);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(Object id) {
+        version++;
+        entries.remove(id);
+    }
+
+    @Override
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final Map<String, Object> properties;
+        private final long created;
+
+        private Entry(Map<String, Object> properties, long created) {
+            this.properties = properties;
+            this.created = created;
+        }
+    }
+}
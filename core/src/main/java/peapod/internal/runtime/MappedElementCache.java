@@ -0,0 +1,492 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import peapod.ElementCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * {@link ElementCache} storing the property values off-heap, in a memory-mapped file that is reused by the next
+ * process opening it. Only the offsets of the records are kept on-heap; the values of a record are decoded from the
+ * file in a single pass when a frame is hydrated from it.
+ * <p>The file is an append-only log of records, a written or invalidated entry appends a new record. Each entry
+ * records when it was written, and is ignored once older than the time to live, also by later processes. When the
+ * file is full, all entries are dropped. Values other than strings, numbers, booleans and dates are not cached, as
+ * well as entries of vertices with other ids than strings or numbers.</p>
+ * <p>The file is locked while the cache is open, so a process opening it waits for the cache of another process to
+ * be closed.</p>
+ */
+public final class MappedElementCache implements ElementCache {
+
+    private static final int MAGIC = 0x50454150;
+    private static final int VERSION = 2;
+    private static final int HEADER = 12;
+
+    private static final byte TOMBSTONE = 0;
+    private static final byte ENTRY = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte BYTE = 8;
+    private static final byte DATE = 9;
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+
+    private final long timeToLive;
+
+    private final Map<Object, Integer> offsets = new HashMap<>();
+
+    private int generation;
+
+    private long version;
+
+    private boolean closed;
+
+    /**
+     * @param file       the file, created when missing
+     * @param capacity   the size of the file in bytes
+     * @param timeToLive the time in milliseconds after which an entry expires
+     */
+    public MappedElementCache(Path file, int capacity, long timeToLive) {
+        if (capacity <= HEADER) {
+            throw new IllegalArgumentException("Capacity too small: " + capacity);
+        }
+        this.timeToLive = timeToLive;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            lock = channel.lock();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+            load();
+        } else {
+            reset();
+        }
+    }
+
+    /**
+     * Rebuilds the offsets of the entries by reading all records.
+     */
+    private void load() {
+        int end = buffer.getInt(8);
+        if (end < HEADER || end > buffer.capacity()) {
+            reset();
+            return;
+        }
+        ByteBuffer in = buffer.duplicate();
+        in.position(HEADER);
+        while (in.position() < end) {
+            byte kind = in.get();
+            Object id = read(in);
+            int length = in.getInt();
+            if (kind == ENTRY && !isExpired(in.position())) {
+                offsets.put(id, in.position());
+            } else {
+                offsets.remove(id);
+            }
+            in.position(in.position() + length);
+        }
+    }
+
+    private void reset() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, HEADER);
+        offsets.clear();
+        generation++;
+    }
+
+    /**
+     * @param offset the offset of the body of an entry, starting with the time it was written
+     */
+    private boolean isExpired(int offset) {
+        return System.currentTimeMillis() - buffer.getLong(offset) > timeToLive;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Element cache is closed");
+        }
+    }
+
+    @Override
+    public synchronized Map<String, Object> get(Object id) {
+        checkOpen();
+        Integer offset = offsets.get(id);
+        if (offset == null) {
+            return null;
+        } else if (isExpired(offset)) {
+            offsets.remove(id);
+            return null;
+        }
+        return new Record(offset + 8, generation);
+    }
+
+    @Override
+    public synchronized void put(Object id, Map<String, Object> properties) {
+        checkOpen();
+        ByteBuffer body = ByteBuffer.allocate(256);
+        body.putLong(System.currentTimeMillis());
+        body.putShort((short) properties.size());
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            body = write(body, property.getKey());
+            body = write(body, property.getValue());
+            if (body == null) {
+                invalidate(id);
+                return;
+            }
+        }
+        body.flip();
+
+        if (!append(ENTRY, id, body)) {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public synchronized long version() {
+        return version;
+    }
+
+    @Override
+    public synchronized void put(Object id, Map<String, Object> properties, long version) {
+        if (version == this.version) {
+            put(id, properties);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(Object id) {
+        checkOpen();
+        version++;
+        if (offsets.containsKey(id)) {
+            append(TOMBSTONE, id, ByteBuffer.allocate(0));
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        checkOpen();
+        version++;
+        reset();
+    }
+
+    /**
+     * Writes the changes of the mapped file to the storage device.
+     */
+    public synchronized void force() {
+        checkOpen();
+        buffer.force();
+    }
+
+    /**
+     * Writes the changes to the storage device, unmaps and unlocks the file. Records returned before hold no values
+     * afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        buffer.force();
+        closed = true;
+        generation++;
+        offsets.clear();
+        unmap(buffer);
+        try {
+            lock.release();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Releases the mapping right away when the buffer exposes its cleaner, as the mapping is otherwise only released
+     * when the buffer is garbage collected.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // left to the garbage collector
+        }
+    }
+
+    /**
+     * Appends a record, dropping all entries first when the file is full.
+     *
+     * @return {@code false} when the id or the record cannot be stored
+     */
+    private boolean append(byte kind, Object id, ByteBuffer body) {
+        ByteBuffer header = write(ByteBuffer.allocate(32).put(kind), id);
+        if (header == null) {
+            return false;
+        }
+        header.putInt(body.remaining()).flip();
+
+        int size = header.remaining() + body.remaining();
+        if (buffer.getInt(8) + size > buffer.capacity()) {
+            reset();
+            if (kind == TOMBSTONE) {
+                return true;
+            }
+            if (HEADER + size > buffer.capacity()) {
+                return false;
+            }
+        }
+
+        int end = buffer.getInt(8);
+        ByteBuffer out = buffer.duplicate();
+        out.position(end);
+        out.put(header);
+        int offset = out.position();
+        out.put(body);
+        buffer.putInt(8, out.position());
+
+        if (kind == ENTRY) {
+            offsets.put(id, offset);
+        } else {
+            offsets.remove(id);
+        }
+        return true;
+    }
+
+    /**
+     * @return the buffer holding the written value, or {@code null} when the type of the value is not supported
+     */
+    private static ByteBuffer write(ByteBuffer out, Object value) {
+        if (out == null) {
+            return null;
+        }
+        byte[] bytes = value instanceof String ? ((String) value).getBytes(StandardCharsets.UTF_8) : null;
+        if (out.remaining() < 9 + (bytes == null ? 0 : bytes.length)) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + 9 + (bytes == null ? 0 : bytes.length)));
+            out.flip();
+            out = larger.put(out);
+        }
+
+        if (value == null) {
+            out.put(NULL);
+        } else if (bytes != null) {
+            out.put(STRING).putInt(bytes.length).put(bytes);
+        } else if (value instanceof Integer) {
+            out.put(INTEGER).putInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.put(LONG).putLong((Long) value);
+        } else if (value instanceof Double) {
+            out.put(DOUBLE).putDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.put(FLOAT).putFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.put(BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof Short) {
+            out.put(SHORT).putShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.put(BYTE).put((Byte) value);
+        } else if (value instanceof Date) {
+            out.put(DATE).putLong(((Date) value).getTime());
+        } else {
+            return null;
+        }
+        return out;
+    }
+
+    private static Object read(ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            case INTEGER:
+                return in.getInt();
+            case LONG:
+                return in.getLong();
+            case DOUBLE:
+                return in.getDouble();
+            case FLOAT:
+                return in.getFloat();
+            case BOOLEAN:
+                return in.get() != 0;
+            case SHORT:
+                return in.getShort();
+            case BYTE:
+                return in.get();
+            case DATE:
+                return new Date(in.getLong());
+            default:
+                throw new IllegalStateException("Unknown value type " + type);
+        }
+    }
+
+    private static void skip(ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case NULL:
+                break;
+            case STRING:
+                int length = in.getInt();
+                in.position(in.position() + length);
+                break;
+            case INTEGER:
+            case FLOAT:
+                in.position(in.position() + 4);
+                break;
+            case LONG:
+            case DOUBLE:
+            case DATE:
+                in.position(in.position() + 8);
+                break;
+            case SHORT:
+                in.position(in.position() + 2);
+                break;
+            case BOOLEAN:
+            case BYTE:
+                in.position(in.position() + 1);
+                break;
+            default:
+                throw new IllegalStateException("Unknown value type " + type);
+        }
+    }
+
+    /**
+     * Compares the string at the position of the buffer with the given bytes, and moves the buffer past the string.
+     */
+    private static boolean matches(ByteBuffer in, byte[] key) {
+        in.get();
+        int length = in.getInt();
+        int start = in.position();
+        in.position(start + length);
+        if (length != key.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (in.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The property values of a record, decoded from the file when accessed. Iterating decodes the whole record at once,
+     * while a lookup scans the record for the key. A record dropped meanwhile holds no values.
+     */
+    private final class Record extends AbstractMap<String, Object> {
+        private final int offset;
+        private final int generation;
+
+        private Record(int offset, int generation) {
+            this.offset = offset;
+            this.generation = generation;
+        }
+
+        /**
+         * @return the buffer positioned at the value of the key, or {@code null} when not present
+         */
+        private ByteBuffer find(Object key) {
+            if (!(key instanceof String) || generation != MappedElementCache.this.generation) {
+                return null;
+            }
+            byte[] bytes = ((String) key).getBytes(StandardCharsets.UTF_8);
+            ByteBuffer in = buffer.duplicate();
+            in.position(offset);
+            int size = in.getShort();
+            for (int i = 0; i < size; i++) {
+                if (matches(in, bytes)) {
+                    return in;
+                }
+                skip(in);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            synchronized (MappedElementCache.this) {
+                return find(key) != null;
+            }
+        }
+
+        @Override
+        public Object get(Object key) {
+            synchronized (MappedElementCache.this) {
+                ByteBuffer in = find(key);
+                return in == null ? null : read(in);
+            }
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            synchronized (MappedElementCache.this) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                if (generation == MappedElementCache.this.generation) {
+                    ByteBuffer in = buffer.duplicate();
+                    in.position(offset);
+                    int size = in.getShort();
+                    for (int i = 0; i < size; i++) {
+                        values.put((String) read(in), read(in));
+                    }
+                }
+                return Collections.unmodifiableMap(values).entrySet();
+            }
+        }
+    }
+}
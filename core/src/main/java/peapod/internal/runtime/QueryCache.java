@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded cache of the element ids returned by framed traversals, keyed by their normalized steps. Each entry
+ * records the vertex labels, property keys and edge labels its traversal depends on, so writes only drop the entries
+ * they can affect. The least recently used entries are evicted first.
+ */
+public final class QueryCache {
+
+    private final Map<List<Object>, Entry> entries;
+
+    /**
+     * Incremented by every invalidation, so results read while writing are not cached.
+     */
+    private long version;
+
+    public QueryCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @return the ids of the elements returned by the query, or {@code null} when not cached
+     */
+    public synchronized Object[] get(Query query) {
+        Entry entry = entries.get(query.key());
+        return entry == null ? null : entry.ids;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Caches the ids of the elements returned by the query, unless the graph was written since the given version.
+     */
+    public synchronized void put(Query query, Object[] ids, long version) {
+        if (version == this.version) {
+            entries.put(query.key(), new Entry(query, ids));
+        }
+    }
+
+    /**
+     * Drops the entries filtering on the property key.
+     */
+    public synchronized void invalidateKey(String propertyKey) {
+        invalidate(entry -> entry.propertyKeys.contains(propertyKey));
+    }
+
+    /**
+     * Drops the entries traversing edges with the label.
+     */
+    public synchronized void invalidateEdges(String edgeLabel) {
+        invalidate(entry -> entry.allEdges || entry.edgeLabels.contains(edgeLabel));
+    }
+
+    /**
+     * Drops the entries returning vertices with the label, and all entries traversing edges when the vertex is removed
+     * together with its edges.
+     */
+    public synchronized void invalidateVertex(String vertexLabel, boolean removed) {
+        invalidate(entry -> entry.vertexLabels.contains(vertexLabel) || removed && (entry.allEdges || !entry.edgeLabels.isEmpty()));
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void invalidate(Predicate<Entry> affected) {
+        version++;
+        entries.values().removeIf(affected);
+    }
+
+    private static final class Entry {
+        private final Object[] ids;
+        private final Set<String> vertexLabels;
+        private final Set<String> propertyKeys;
+        private final Set<String> edgeLabels;
+        private final boolean allEdges;
+
+        private Entry(Query query, Object[] ids) {
+            this.ids = ids;
+            this.vertexLabels = new HashSet<>(query.vertexLabels);
+            this.propertyKeys = new HashSet<>(query.propertyKeys);
+            this.edgeLabels = new HashSet<>(query.edgeLabels);
+            this.allEdges = query.allEdges;
+        }
+    }
+
+    /**
+     * The steps of a framed traversal with their arguments, and the labels and keys the traversal depends on.
+     */
+    public static final class Query {
+        private final List<List<Object>> steps = new ArrayList<>();
+        private final Set<String> vertexLabels = new HashSet<>();
+        private final Set<String> propertyKeys = new HashSet<>();
+        private final Set<String> edgeLabels = new HashSet<>();
+        private boolean allEdges;
+
+        public Query step(String name, Object... arguments) {
+            List<Object> step = new ArrayList<>(arguments.length + 1);
+            step.add(name);
+            for (Object argument : arguments) {
+                step.add(normalize(argument));
+            }
+            steps.add(step);
+            return this;
+        }
+
+        public Query vertexLabels(String... labels) {
+            Collections.addAll(vertexLabels, labels);
+            return this;
+        }
+
+        public Query propertyKeys(String... keys) {
+            Collections.addAll(propertyKeys, keys);
+            return this;
+        }
+
+        /**
+         * Records the traversed edge labels, all labels when empty.
+         */
+        public Query edgeLabels(String... labels) {
+            Collections.addAll(edgeLabels, labels);
+            allEdges |= labels.length == 0;
+            return this;
+        }
+
+        /**
+         * Returns the steps as cache key. Consecutive {@code has} and {@code hasLabel} steps filter independently of each other, so they
+         * are sorted to give queries differing only in their order the same key.
+         */
+        List<Object> key() {
+            List<Object> key = new ArrayList<>(steps.size());
+            List<List<Object>> filters = new ArrayList<>();
+            for (List<Object> step : steps) {
+                if (isFilter(step)) {
+                    filters.add(step);
+                } else {
+                    addSorted(key, filters);
+                    key.add(step);
+                }
+            }
+            addSorted(key, filters);
+            return key;
+        }
+
+        private static boolean isFilter(List<Object> step) {
+            return Arrays.asList("has", "hasNot", "hasId", "hasLabel").contains(step.get(0));
+        }
+
+        private static void addSorted(List<Object> key, List<List<Object>> filters) {
+            filters.sort(Comparator.comparing(Object::toString));
+            key.addAll(filters);
+            filters.clear();
+        }
+
+        private static Object normalize(Object argument) {
+            if (argument instanceof Element) {
+                return ((Element) argument).id();
+            } else if (argument instanceof Object[]) {
+                List<Object> list = new ArrayList<>();
+                for (Object element : (Object[]) argument) {
+                    list.add(normalize(element));
+                }
+                return list;
+            }
+            return argument;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.internal.runtime;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import peapod.FramedGraph;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the edges of the asynchronous relation getters in batches. Requests of a thread for the same direction and
+ * edge label made before the next dispatch are answered by a single {@code V(ids).toE(direction, label)} traversal.
+ * <p>Each thread collects its own batch. Without an executor, the batch is dispatched in the calling thread, and thus
+ * within its transaction, as soon as one of its futures, or a future derived from it with {@code thenApply}, is
+ * waited on, or by an explicit {@link #dispatch()}. With an executor, the first request of a batch schedules its
+ * dispatch on the executor, which closes the batch.</p>
+ */
+public final class RelationLoader {
+
+    private final FramedGraph graph;
+
+    private volatile Executor executor;
+
+    private final ThreadLocal<Batch> batch;
+
+    public RelationLoader(FramedGraph graph) {
+        this.graph = graph;
+        this.batch = ThreadLocal.withInitial(Batch::new);
+    }
+
+    /**
+     * @param executor the executor of the dispatches scheduled by the first request of a batch, {@code null} to
+     *                 dispatch when a future is waited on
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public CompletableFuture<List<Edge>> edges(Vertex start, Direction direction, String label) {
+        Batch batch = this.batch.get();
+        BatchFuture<List<Edge>> future = new BatchFuture<>(batch);
+        Executor executor = this.executor;
+        boolean schedule;
+        synchronized (batch) {
+            schedule = executor != null && batch.pending.isEmpty();
+            batch.pending.computeIfAbsent(direction, d -> new HashMap<>())
+                    .computeIfAbsent(label, l -> new LinkedHashMap<>())
+                    .computeIfAbsent(start.id(), id -> new ArrayList<>())
+                    .add(future);
+        }
+        if (schedule) {
+            executor.execute(batch::dispatch);
+        }
+        return future;
+    }
+
+    public CompletableFuture<List<Vertex>> vertices(Vertex start, Direction direction, String label) {
+        return edges(start, direction, label).thenApply(edges -> edges.stream().map(e -> FrameHelper.other(start, e, direction)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Loads the edges of all pending requests of the calling thread, one traversal per direction and edge label.
+     */
+    public void dispatch() {
+        batch.get().dispatch();
+    }
+
+    private void load(Direction direction, String label, Map<Object, List<CompletableFuture<List<Edge>>>> requests) {
+        Map<Object, List<Edge>> edges = new HashMap<>();
+        requests.keySet().forEach(id -> edges.put(id, new ArrayList<>()));
+        try {
+            graph.traversal().V(requests.keySet().toArray()).toE(direction, label).dedup().forEachRemaining(e -> {
+                Object outId = e.outVertex().id();
+                Object inId = e.inVertex().id();
+                if (direction != Direction.IN && edges.containsKey(outId)) {
+                    edges.get(outId).add(e);
+                }
+                if (direction != Direction.OUT && edges.containsKey(inId) && (direction == Direction.IN || !inId.equals(outId))) {
+                    edges.get(inId).add(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            requests.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+            return;
+        }
+        requests.forEach((id, futures) -> {
+            List<Edge> result = Collections.unmodifiableList(edges.get(id));
+            futures.forEach(f -> f.complete(result));
+        });
+    }
+
+    /**
+     * The pending requests of a thread.
+     */
+    private final class Batch {
+
+        private Map<Direction, Map<String, Map<Object, List<CompletableFuture<List<Edge>>>>>> pending = new HashMap<>();
+
+        void dispatch() {
+            Map<Direction, Map<String, Map<Object, List<CompletableFuture<List<Edge>>>>>> batches;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batches = pending;
+                pending = new HashMap<>();
+            }
+            batches.forEach((direction, label2Requests) -> label2Requests.forEach((label, requests) -> load(direction, label, requests)));
+        }
+    }
+
+    /**
+     * A future that dispatches its batch when waited on. Futures derived with {@code thenApply} do so too.
+     */
+    private static final class BatchFuture<T> extends CompletableFuture<T> {
+
+        private final Batch batch;
+
+        BatchFuture(Batch batch) {
+            this.batch = batch;
+        }
+
+        private void dispatch() {
+            if (!isDone()) {
+                batch.dispatch();
+            }
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            dispatch();
+            return super.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            dispatch();
+            return super.get(timeout, unit);
+        }
+
+        @Override
+        public T join() {
+            dispatch();
+            return super.join();
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenApply(Function<? super T, ? extends U> fn) {
+            BatchFuture<U> result = new BatchFuture<>(batch);
+            whenComplete((value, failure) -> {
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    try {
+                        result.complete(fn.apply(value));
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                }
+            });
+            return result;
+        }
+    }
+}
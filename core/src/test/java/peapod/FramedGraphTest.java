@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Before;
 import org.junit.Test;
+import peapod.internal.runtime.FramerRegistry;
 import peapod.model.Person;
 
 import java.util.List;
@@ -128,4 +129,14 @@ public class FramedGraphTest extends GraphTest {
         assertNotNull(graph.tx());
     }
 
+    @Test
+    public void testSharedRegistry() throws Exception {
+        FramerRegistry registry = FramerRegistry.builder().register(Person.class.getPackage()).build();
+        FramedGraph other = new FramedGraph(g, registry);
+
+        assertSame(registry, other.registry());
+        assertEquals(graph.V(Person.class).toList(), other.V(Person.class).toList());
+        assertEquals("alice", other.v(alice.id(), Person.class).getName());
+    }
+
 }
\ No newline at end of file
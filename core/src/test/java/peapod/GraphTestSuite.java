@@ -45,32 +45,74 @@ package peapod;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import peapod.adjacency.AdjacencyCacheTest;
+import peapod.async.AsyncTest;
+import peapod.builder.BuilderTest;
+import peapod.bulk.BulkTest;
+import peapod.cached.CachedTest;
 import peapod.classes.AnnotatedClassTest;
+import peapod.count.CountTest;
+import peapod.edgefilter.EdgeFilterTest;
+import peapod.edgeproperty.EdgePropertyTest;
+import peapod.elementcache.ElementCacheTest;
+import peapod.elementcache.MappedElementCacheTest;
+import peapod.fetch.FetchTest;
+import peapod.hydrate.HydrateTest;
+import peapod.identity.IdentityTest;
 import peapod.inheritance.InheritanceTest;
+import peapod.lazy.LazyTest;
 import peapod.linkededge.LinkedEdgeTest;
 import peapod.linkedvertex.LinkedVertexTest;
 import peapod.manytomany.ManyToManyTest;
 import peapod.manytomanyedge.ManyToManyEdgeTest;
 import peapod.manytoone.ManyToOneTest;
 import peapod.multiproperties.MultiPropertiesTest;
+import peapod.order.OrderTest;
+import peapod.paging.PagingTest;
+import peapod.predicate.PredicateTest;
 import peapod.property.DatePropertyTest;
 import peapod.property.PropertyTest;
+import peapod.querycache.QueryCacheTest;
+import peapod.scan.ScanTest;
+import peapod.start.StartTest;
+import peapod.template.TemplateTest;
 import peapod.vertexproperty.VertexPropertyTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+        AdjacencyCacheTest.class,
         AnnotatedClassTest.class,
+        AsyncTest.class,
+        BuilderTest.class,
+        BulkTest.class,
+        CachedTest.class,
+        CountTest.class,
         DatePropertyTest.class,
+        EdgeFilterTest.class,
+        EdgePropertyTest.class,
+        ElementCacheTest.class,
+        FetchTest.class,
         InheritanceTest.class,
         FramedElementTest.class,
         FramedGraphTest.class,
+        HydrateTest.class,
+        IdentityTest.class,
+        LazyTest.class,
         LinkedEdgeTest.class,
         LinkedVertexTest.class,
         ManyToManyTest.class,
         ManyToManyEdgeTest.class,
         ManyToOneTest.class,
+        MappedElementCacheTest.class,
         MultiPropertiesTest.class,
+        OrderTest.class,
+        PagingTest.class,
+        PredicateTest.class,
         PropertyTest.class,
+        QueryCacheTest.class,
+        ScanTest.class,
+        StartTest.class,
+        TemplateTest.class,
         VertexPropertyTest.class
 })
 public class GraphTestSuite {
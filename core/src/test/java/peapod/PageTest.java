@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class PageTest {
+
+    @Test
+    public void testCursor() {
+        for (Object value : new Object[]{"alice", "", 1L, 2, (short) 3, (byte) 4, 5.5, 6.5f, UUID.randomUUID()}) {
+            assertEquals(value, Page.decode(Page.encode(value)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedValue() {
+        Page.encode(new Object());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCursor() {
+        Page.decode("!");
+    }
+}
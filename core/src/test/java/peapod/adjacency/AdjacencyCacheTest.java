@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.adjacency;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.AdjacencyCache;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class AdjacencyCacheTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+    private Vertex charlie;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice");
+        bob = g.addVertex(T.label, "Person", "name", "bob");
+        charlie = g.addVertex(T.label, "Person", "name", "charlie");
+
+        alice.addEdge("friend", bob);
+        alice.addEdge("colleague", charlie);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+        graph.setAdjacencyCache(AdjacencyCache.lru(100, "friend"));
+    }
+
+    private Person person(Vertex vertex) {
+        return graph.v(vertex.id());
+    }
+
+    private List<Person> friends(Vertex vertex) {
+        return person(vertex).getFriends();
+    }
+
+    @Test
+    public void testCached() {
+        assertThat(friends(alice), contains(person(bob)));
+        assertThat(person(bob).getFriendOf(), contains(person(alice)));
+
+        g.traversal().E().hasLabel("friend").drop().iterate();
+
+        assertThat(friends(alice), contains(person(bob)));
+        assertThat(person(bob).getFriendOf(), contains(person(alice)));
+    }
+
+    @Test
+    public void testNotCached() {
+        assertEquals(1, person(alice).getColleagues().size());
+
+        g.traversal().E().hasLabel("colleague").drop().iterate();
+
+        assertTrue(person(alice).getColleagues().isEmpty());
+    }
+
+    @Test
+    public void testWritesInvalidate() {
+        assertThat(friends(alice), contains(person(bob)));
+        assertTrue(person(charlie).getFriendOf().isEmpty());
+
+        person(alice).addFriend(person(charlie));
+        assertThat(friends(alice), containsInAnyOrder(person(bob), person(charlie)));
+        assertThat(person(charlie).getFriendOf(), contains(person(alice)));
+
+        person(alice).removeFriend(person(bob));
+        assertThat(friends(alice), contains(person(charlie)));
+        assertTrue(person(bob).getFriendOf().isEmpty());
+    }
+
+    @Test
+    public void testNotCachedAfterWriteInTransaction() {
+        assumeTrue(g.features().graph().supportsTransactions());
+
+        person(alice).addFriend(person(charlie));
+        assertThat(friends(alice), containsInAnyOrder(person(bob), person(charlie)));
+
+        assertTrue(friends(bob).isEmpty());
+        bob.addEdge("friend", charlie);
+        assertThat(friends(bob), contains(person(charlie)));
+    }
+
+    @Test
+    public void testStaleReadNotCached() {
+        AdjacencyCache cache = AdjacencyCache.lru(100, "friend");
+        long version = cache.version("friend");
+        cache.invalidate("friend");
+        cache.put(alice.id(), Direction.OUT, "friend", new Object[]{bob.id()}, version);
+        assertNull(cache.get(alice.id(), Direction.OUT, "friend"));
+
+        cache.put(alice.id(), Direction.OUT, "friend", new Object[]{bob.id()}, cache.version("friend"));
+        assertArrayEquals(new Object[]{bob.id()}, cache.get(alice.id(), Direction.OUT, "friend"));
+    }
+
+    @Test
+    public void testRemoveInvalidates() {
+        assertThat(friends(alice), contains(person(bob)));
+
+        alice.addEdge("friend", charlie);
+        assertThat(friends(alice), contains(person(bob)));
+
+        person(bob).remove();
+
+        assertThat(friends(alice), contains(person(charlie)));
+    }
+
+}
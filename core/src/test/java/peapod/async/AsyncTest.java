@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.async;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.*;
+
+public class AsyncTest extends GraphTest {
+
+    private FramedGraph graph;
+    private List<Runnable> dispatches;
+    private Person alice;
+    private Person bob;
+    private Person charlie;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        Vertex charlie = g.addVertex(T.label, "Person", "name", "charlie");
+
+        alice.addEdge("knows", bob, "weight", 0.5);
+        alice.addEdge("friend", bob);
+        alice.addEdge("friend", charlie);
+        bob.addEdge("friend", charlie);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+        dispatches = new ArrayList<>();
+        graph.loader().setExecutor(dispatches::add);
+
+        this.alice = graph.v(alice.id());
+        this.bob = graph.v(bob.id());
+        this.charlie = graph.v(charlie.id());
+    }
+
+    private void dispatch() {
+        assertEquals(1, dispatches.size());
+        dispatches.remove(0).run();
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        CompletableFuture<List<Person>> aliceFriends = alice.getFriendsAsync();
+        CompletableFuture<List<Person>> bobFriends = bob.getFriendsAsync();
+        CompletableFuture<List<Person>> charlieFriends = charlie.getFriendsAsync();
+        CompletableFuture<Collection<Person>> charlieFriendOf = charlie.getFriendOfAsync();
+        CompletableFuture<List<Knows>> aliceKnows = alice.getKnowsAsync();
+        assertFalse(aliceFriends.isDone());
+
+        dispatch();
+
+        assertThat(aliceFriends.get(), containsInAnyOrder(bob, charlie));
+        assertThat(bobFriends.get(), contains(charlie));
+        assertThat(charlieFriends.get(), empty());
+        assertThat(charlieFriendOf.get(), containsInAnyOrder(alice, bob));
+        assertEquals(1, aliceKnows.get().size());
+        assertEquals(0.5, aliceKnows.get().get(0).getWeight(), 0);
+        assertEquals(bob, aliceKnows.get().get(0).getOther());
+    }
+
+    @Test
+    public void testSameVertex() throws Exception {
+        CompletableFuture<List<Person>> first = alice.getFriendsAsync();
+        CompletableFuture<List<Person>> second = alice.getFriendsAsync();
+
+        dispatch();
+
+        assertThat(first.get(), containsInAnyOrder(bob, charlie));
+        assertThat(second.get(), containsInAnyOrder(bob, charlie));
+    }
+
+    @Test
+    public void testNextDispatch() throws Exception {
+        CompletableFuture<List<Person>> first = alice.getFriendsAsync();
+        dispatch();
+        assertEquals(2, first.get().size());
+
+        g.addVertex(T.label, "Person").addEdge("friend", alice.vertex());
+        CompletableFuture<Collection<Person>> second = alice.getFriendOfAsync();
+        dispatch();
+        assertEquals(1, second.get().size());
+    }
+
+    @Test
+    public void testDispatchWhenWaitedOnByDefault() throws Exception {
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        Person alice = graph.v(this.alice.id());
+        Person bob = graph.v(this.bob.id());
+
+        CompletableFuture<List<Person>> aliceFriends = alice.getFriendsAsync();
+        CompletableFuture<List<Person>> bobFriends = bob.getFriendsAsync();
+        assertFalse(aliceFriends.isDone());
+
+        assertThat(bobFriends.join(), contains(charlie));
+        assertTrue(aliceFriends.isDone());
+        assertThat(aliceFriends.get(), containsInAnyOrder(bob, charlie));
+    }
+
+    @Test
+    public void testBatchPerThread() throws Exception {
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        Person bob = graph.v(this.bob.id());
+
+        CompletableFuture<List<Person>> friends = bob.getFriendsAsync();
+        Thread other = new Thread(graph.loader()::dispatch);
+        other.start();
+        other.join();
+        assertFalse(friends.isDone());
+
+        graph.loader().dispatch();
+        assertThat(friends.get(), contains(charlie));
+    }
+
+    @Test
+    public void testExplicitDispatch() throws Exception {
+        CompletableFuture<List<Person>> friends = bob.getFriendsAsync();
+        graph.loader().dispatch();
+        assertThat(friends.get(), contains(charlie));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.builder;
+
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+
+public class BuilderTest extends GraphTest {
+
+    private FramedGraph graph;
+
+    @Before
+    public void init() {
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    @Test
+    public void testBuilder() {
+        Person person = Person$Impl.builder(graph).name("alice").age(30).create();
+
+        assertEquals("alice", person.getName());
+        assertEquals(30, person.getAge());
+        assertEquals("new", person.getStatus());
+        assertEquals("Person", person.vertex().label());
+    }
+
+    @Test
+    public void testBuilderNullValue() {
+        Person person = Person$Impl.builder(graph).name("alice").name(null).create();
+        assertNull(person.getName());
+    }
+
+    @Test
+    public void testBuilderPropertyNamedLikeField() {
+        Person person = Person$Impl.builder(graph).properties("x").create();
+        assertEquals("x", person.getProperties());
+    }
+
+    @Test
+    public void testAddVertexOverridesDefaults() {
+        Person person = graph.addVertex(Person.class, "status", "active");
+
+        assertEquals("active", person.getStatus());
+        assertEquals("active", person.vertex().value("status"));
+        assertEquals(1, IteratorUtils.count(person.vertex().properties("status")));
+    }
+
+    @Test
+    public void testAddVertexWithProperties() {
+        Person person = graph.addVertex(Person.class, "name", "bob", "status", "active");
+
+        assertEquals("bob", person.getName());
+        assertEquals("active", person.getStatus());
+        assertEquals(1, g.traversal().V().count().next().intValue());
+    }
+
+    @Test
+    public void testAddVertexWithoutProperties() {
+        Person person = graph.addVertex(Person.class);
+        assertEquals("new", person.getStatus());
+    }
+
+    @Test
+    public void testMultiPropertyDefaults() {
+        Document document = graph.addVertex(Document.class, "title", "peapod");
+
+        assertEquals("peapod", document.getTitle());
+        assertThat(document.getTags(), containsInAnyOrder("draft", "private"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalKeyValues() {
+        graph.addVertex(Person.class, "name", "alice", "age");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.bulk;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+import static peapod.TinkerPopHelper.out;
+
+public class BulkTest extends GraphTest {
+
+    private Person alice;
+    private Person bob;
+    private Person charlie;
+    private Person dave;
+    private Edge aliceKnowsBob;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        Vertex charlie = g.addVertex(T.label, "Person", "name", "charlie");
+        Vertex dave = g.addVertex(T.label, "Person", "name", "dave");
+
+        aliceKnowsBob = alice.addEdge("knows", bob);
+        alice.addEdge("knows", charlie);
+
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        this.alice = graph.v(alice.id());
+        this.bob = graph.v(bob.id());
+        this.charlie = graph.v(charlie.id());
+        this.dave = graph.v(dave.id());
+    }
+
+    @Test
+    public void testSet() {
+        alice.setKnows(Arrays.asList(bob, dave));
+
+        assertThat(out(alice.vertex(), "knows"), containsInAnyOrder(bob.vertex(), dave.vertex()));
+        assertTrue(g.edges(aliceKnowsBob.id()).hasNext());
+    }
+
+    @Test
+    public void testAdderPrefixedLikeBulkAdder() {
+        Vertex peanuts = g.addVertex(T.label, "Allergy", "name", "peanuts");
+        alice.addAllergy(alice.graph().v(peanuts.id()));
+
+        assertThat(out(alice.vertex(), "allergy"), contains(peanuts));
+    }
+
+    @Test
+    public void testSetEmpty() {
+        alice.setKnows(Collections.emptyList());
+        assertTrue(alice.getKnows().isEmpty());
+
+        alice.setKnows(Arrays.asList(bob, charlie));
+        alice.setKnows(null);
+        assertTrue(alice.getKnows().isEmpty());
+    }
+
+    @Test
+    public void testSetDuplicates() {
+        alice.vertex().addEdge("knows", bob.vertex());
+        alice.setKnows(Arrays.asList(bob, bob));
+        assertThat(out(alice.vertex(), "knows"), containsInAnyOrder(bob.vertex()));
+    }
+
+    @Test
+    public void testAddAll() {
+        alice.addAllKnows(Arrays.asList(bob, dave));
+        assertThat(out(alice.vertex(), "knows"), containsInAnyOrder(bob.vertex(), charlie.vertex(), dave.vertex()));
+        assertTrue(g.edges(aliceKnowsBob.id()).hasNext());
+    }
+
+    @Test
+    public void testSetVertices() {
+        alice.setFriends(new HashSet<>(Arrays.asList(bob, charlie)));
+        assertThat(alice.getFriends(), containsInAnyOrder(bob, charlie));
+
+        alice.setFriends(Collections.singleton(dave));
+        assertThat(alice.getFriends(), containsInAnyOrder(dave));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullElement() {
+        alice.addAllKnows(Arrays.asList(bob, null));
+    }
+}
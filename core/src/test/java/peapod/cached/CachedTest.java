@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.cached;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import static org.junit.Assert.*;
+
+public class CachedTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex vertex;
+    private Person alice;
+
+    @Before
+    public void init() {
+        vertex = g.addVertex(T.label, "Person", "name", "alice", "first-name", "Alice");
+        vertex.addEdge("knows", vertex, "weight", 0.5);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+        alice = graph.v(vertex.id());
+    }
+
+    @Test
+    public void testGetterCaches() {
+        assertEquals("alice", alice.getName());
+        assertEquals("Alice", alice.getFirstName());
+
+        vertex.property("name", "changed");
+        assertEquals("alice", alice.getName());
+
+        Person reloaded = graph.v(vertex.id());
+        assertEquals("changed", reloaded.getName());
+    }
+
+    @Test
+    public void testMissingValues() {
+        assertEquals(0, alice.getAge());
+        vertex.property("age", 30);
+        assertEquals(0, alice.getAge());
+    }
+
+    @Test
+    public void testSetterWritesThrough() {
+        assertEquals("alice", alice.getName());
+
+        alice.setName("bob");
+        assertEquals("bob", alice.getName());
+        assertEquals("bob", vertex.value("name"));
+
+        alice.setName(null);
+        assertNull(alice.getName());
+        assertFalse(vertex.property("name").isPresent());
+
+        alice.setAge(42);
+        assertEquals(42, alice.getAge());
+        assertEquals(42, (int) vertex.value("age"));
+    }
+
+    @Test
+    public void testEdge() {
+        Knows knows = graph.frame(vertex.edges(Direction.OUT, "knows").next(), Knows.class);
+        assertEquals(0.5, knows.getWeight(), 0);
+
+        knows.setWeight(0.7);
+        assertEquals(0.7, knows.getWeight(), 0);
+    }
+
+    @Test
+    public void testMultiProperties() {
+        alice.addNickname("ally");
+        alice.addNickname("al");
+        assertEquals(2, alice.getNicknames().size());
+    }
+}
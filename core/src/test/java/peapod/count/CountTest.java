@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.count;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.list;
+import static org.junit.Assert.*;
+
+public class CountTest extends GraphTest {
+
+    private Person alice;
+    private Person bob;
+    private Person charlie;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        Vertex charlie = g.addVertex(T.label, "Person", "name", "charlie");
+
+        alice.addEdge("knows", bob, "years", 5);
+        alice.addEdge("knows", charlie, "years", 2);
+        alice.addEdge("friend", bob);
+        bob.addEdge("friend", charlie);
+
+        alice.property(list, "nickname", "ally");
+        alice.property(list, "nickname", "al");
+
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        this.alice = graph.v(alice.id());
+        this.bob = graph.v(bob.id());
+        this.charlie = graph.v(charlie.id());
+    }
+
+    @Test
+    public void testCountEdges() {
+        assertEquals(2, alice.countKnows());
+        assertEquals(0, bob.countKnows());
+    }
+
+    @Test
+    public void testHasEdges() {
+        assertTrue(alice.hasKnows());
+        assertFalse(bob.hasKnows());
+    }
+
+    @Test
+    public void testHasEdgeTo() {
+        assertTrue(alice.hasKnows(bob));
+        assertTrue(alice.hasKnows(charlie));
+        assertFalse(alice.hasKnows(alice));
+        assertFalse(bob.hasKnows(alice));
+    }
+
+    @Test
+    public void testCountVertices() {
+        assertEquals(1, alice.countFriends());
+        assertEquals(0, charlie.countFriends());
+    }
+
+    @Test
+    public void testHasVertex() {
+        assertTrue(alice.hasFriend(bob));
+        assertFalse(alice.hasFriend(charlie));
+        assertTrue(bob.hasFriend(charlie));
+    }
+
+    @Test
+    public void testIn() {
+        assertEquals(0, alice.countFriendOf());
+        assertEquals(1, bob.countFriendOf());
+        assertTrue(bob.hasFriendOf(alice));
+        assertFalse(bob.hasFriendOf(charlie));
+    }
+
+    @Test
+    public void testBoth() {
+        assertTrue(bob.hasAnyFriend(alice));
+        assertTrue(bob.hasAnyFriend(charlie));
+        assertFalse(alice.hasAnyFriend(charlie));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHasNull() {
+        alice.hasKnows(null);
+    }
+
+    @Test
+    public void testProperties() {
+        assertEquals(2, alice.countNicknames());
+        assertTrue(alice.hasNickname());
+        assertEquals(0, bob.countNicknames());
+        assertFalse(bob.hasNickname());
+    }
+}
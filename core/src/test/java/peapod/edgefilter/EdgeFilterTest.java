@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.edgefilter;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class EdgeFilterTest extends GraphTest {
+
+    private Person alice;
+    private Person bob;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        Vertex charlie = g.addVertex(T.label, "Person", "name", "charlie");
+        Vertex dave = g.addVertex(T.label, "Person", "name", "dave");
+
+        alice.addEdge("knows", bob, "since", new Date(1000), "weight", 0.5);
+        alice.addEdge("knows", charlie, "since", new Date(2000), "weight", 1.0);
+        alice.addEdge("knows", dave, "since", new Date(3000), "weight", 0.2);
+        charlie.addEdge("knows", bob, "since", new Date(3000), "weight", 0.8);
+
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        this.alice = graph.v(alice.id());
+        this.bob = graph.v(bob.id());
+    }
+
+    @Test
+    public void testCompare() {
+        assertThat(names(alice.getKnows(new Date(1000))), containsInAnyOrder("charlie", "dave"));
+        assertTrue(alice.getKnows(new Date(3000)).isEmpty());
+    }
+
+    @Test
+    public void testRangeWithLimit() {
+        assertThat(names(alice.getKnows(new Date(1000), new Date(3001), 5)), contains("dave", "bob", "charlie"));
+        assertThat(names(alice.getKnows(new Date(1000), new Date(3000), 1)), contains("bob"));
+    }
+
+    @Test
+    public void testEquals() {
+        assertThat(names(alice.getKnows(1.0)), contains("charlie"));
+    }
+
+    @Test
+    public void testVertices() {
+        List<String> friends = alice.getFriends(1.0).stream().map(Person::getName).collect(Collectors.toList());
+        assertThat(friends, containsInAnyOrder("bob", "dave"));
+
+        List<String> knownBy = bob.getKnownBy(0.5).stream().map(Person::getName).collect(Collectors.toList());
+        assertThat(knownBy, contains("alice"));
+    }
+
+    private static List<String> names(List<Knows> knows) {
+        return knows.stream().map(k -> k.getOther().getName()).collect(Collectors.toList());
+    }
+}
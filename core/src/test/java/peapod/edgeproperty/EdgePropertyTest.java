@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.edgeproperty;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class EdgePropertyTest extends GraphTest {
+
+    private Person alice;
+    private Person bob;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        this.alice = graph.v(alice.id());
+        this.bob = graph.v(bob.id());
+    }
+
+    @Test
+    public void testAddWithProperties() {
+        Knows knows = alice.addKnows(bob, new Date(1000), 0.5);
+
+        assertEquals(bob, knows.getOther());
+        assertEquals(new Date(1000), knows.getSince());
+        assertEquals(0.5, knows.getWeight(), 0);
+    }
+
+    @Test
+    public void testAddWithNullProperty() {
+        Knows knows = alice.addKnows(bob, null, 0.5);
+
+        assertNull(knows.getSince());
+        assertEquals(0.5, knows.getWeight(), 0);
+    }
+
+    @Test
+    public void testAddWithParameterName() {
+        alice.addKnows(bob, 0.8);
+
+        Edge edge = alice.vertex().edges(org.apache.tinkerpop.gremlin.structure.Direction.OUT, "knows").next();
+        assertEquals(0.8, edge.<Double>value("weight"), 0);
+    }
+
+    @Test
+    public void testAddMetaProperty() {
+        alice.addNickname("ally", new Date(2000));
+        alice.addNickname("al", null);
+
+        assertEquals(2, alice.getNicknames().size());
+        VertexProperty<String> nickname = alice.vertex().<String>properties("nickname").next();
+        assertEquals("ally", nickname.value());
+        assertEquals(new Date(2000), nickname.<Date>value("since"));
+    }
+}
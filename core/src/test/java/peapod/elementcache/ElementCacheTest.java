@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.elementcache;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.ElementCache;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class ElementCacheTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice", "age", 30);
+        bob = g.addVertex(T.label, "Person", "name", "bob");
+        alice.addEdge("friend", bob);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    @Test
+    public void testDisabled() {
+        graph.v(alice.id());
+        alice.property("name", "changed");
+        assertEquals("changed", graph.<Person>v(alice.id()).getName());
+    }
+
+    @Test
+    public void testServedFromCache() {
+        graph.setElementCache(ElementCache.lru(100, 1, TimeUnit.HOURS));
+
+        assertEquals("alice", graph.<Person>v(alice.id()).getName());
+        assertEquals("bob", graph.<Person>v(alice.id()).getFriends().get(0).getName());
+
+        alice.property("name", "changed");
+        alice.property("age", 31);
+        bob.property("name", "changed");
+
+        Person person = graph.v(alice.id());
+        assertEquals("alice", person.getName());
+        assertEquals(30, person.getAge());
+        assertEquals("bob", person.getFriends().get(0).getName());
+        assertEquals("alice", graph.V(Person.class).has("name", "changed").has("age", 31).next().getName());
+    }
+
+    @Test
+    public void testMissingProperty() {
+        graph.setElementCache(ElementCache.lru(100, 1, TimeUnit.HOURS));
+
+        assertEquals(0, graph.<Person>v(bob.id()).getAge());
+        bob.property("age", 40);
+        assertEquals(0, graph.<Person>v(bob.id()).getAge());
+    }
+
+    @Test
+    public void testWritesInvalidate() {
+        graph.setElementCache(ElementCache.lru(100, 1, TimeUnit.HOURS));
+
+        Person person = graph.v(alice.id());
+        person.setName("alicia");
+        assertEquals("alicia", person.getName());
+        assertEquals("alicia", graph.<Person>v(alice.id()).getName());
+
+        alice.property("name", "changed");
+        graph.<Person>v(alice.id()).addNickname("ally");
+        assertEquals("changed", graph.<Person>v(alice.id()).getName());
+    }
+
+    @Test
+    public void testNotCachedAfterWriteInTransaction() {
+        assumeTrue(g.features().graph().supportsTransactions());
+        graph.setElementCache(ElementCache.lru(100, 1, TimeUnit.HOURS));
+
+        graph.<Person>v(alice.id()).setName("alicia");
+        assertEquals("bob", graph.<Person>v(bob.id()).getName());
+
+        bob.property("name", "changed");
+        assertEquals("changed", graph.<Person>v(bob.id()).getName());
+    }
+
+    @Test
+    public void testRemoveInvalidates() {
+        graph.setElementCache(ElementCache.lru(100, 1, TimeUnit.HOURS));
+
+        graph.<Person>v(bob.id()).remove();
+        Vertex replacement = g.addVertex(T.id, bob.id(), T.label, "Person", "name", "bobby");
+        assertEquals("bobby", graph.<Person>v(replacement.id()).getName());
+    }
+
+    @Test
+    public void testStaleReadNotCached() {
+        ElementCache cache = ElementCache.lru(100, 1, TimeUnit.HOURS);
+        long version = cache.version();
+        cache.invalidate(alice.id());
+        cache.put(alice.id(), Collections.singletonMap("name", "alice"), version);
+        assertNull(cache.get(alice.id()));
+
+        cache.put(alice.id(), Collections.singletonMap("name", "alice"), cache.version());
+        assertEquals("alice", cache.get(alice.id()).get("name"));
+    }
+
+    @Test
+    public void testEviction() {
+        graph.setElementCache(ElementCache.lru(1, 1, TimeUnit.HOURS));
+
+        graph.v(alice.id());
+        graph.v(bob.id());
+        alice.property("name", "changed");
+        assertEquals("changed", graph.<Person>v(alice.id()).getName());
+    }
+
+    @Test
+    public void testExpiry() {
+        graph.setElementCache(ElementCache.lru(100, 0, TimeUnit.NANOSECONDS));
+
+        graph.v(alice.id());
+        alice.property("name", "changed");
+        assertEquals("changed", graph.<Person>v(alice.id()).getName());
+    }
+}
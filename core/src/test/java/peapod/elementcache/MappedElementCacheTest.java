@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.elementcache;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import peapod.ElementCache;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MappedElementCacheTest extends GraphTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private FramedGraph graph;
+    private Vertex alice;
+
+    @Before
+    public void init() throws Exception {
+        file = folder.newFile("cache").toPath();
+        alice = g.addVertex(T.label, "Person", "name", "alice", "age", 30);
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    @Test
+    public void testServedFromCache() {
+        graph.setElementCache(ElementCache.mapped(file, 4096, 1, TimeUnit.HOURS));
+
+        graph.v(alice.id());
+        alice.property("name", "changed");
+        alice.property("age", 31);
+
+        Person person = graph.v(alice.id());
+        assertEquals("alice", person.getName());
+        assertEquals(30, person.getAge());
+
+        person.setName("alicia");
+        assertEquals("alicia", graph.<Person>v(alice.id()).getName());
+    }
+
+    @Test
+    public void testRestart() {
+        ElementCache cache = ElementCache.mapped(file, 4096, 1, TimeUnit.HOURS);
+        graph.setElementCache(cache);
+        graph.v(alice.id());
+
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        graph.v(bob.id());
+        graph.<Person>v(bob.id()).setName("bobby");
+        cache.close();
+
+        ElementCache reopened = ElementCache.mapped(file, 4096, 1, TimeUnit.HOURS);
+        assertEquals("alice", reopened.get(alice.id()).get("name"));
+        assertEquals(30, reopened.get(alice.id()).get("age"));
+        assertNull(reopened.get(bob.id()));
+    }
+
+    @Test
+    public void testExpired() throws Exception {
+        ElementCache cache = ElementCache.mapped(file, 4096, 10, TimeUnit.MILLISECONDS);
+        cache.put("id", Collections.singletonMap("name", "alice"));
+        assertNotNull(cache.get("id"));
+
+        Thread.sleep(20);
+        assertNull(cache.get("id"));
+    }
+
+    @Test
+    public void testExpiredAfterRestart() throws Exception {
+        ElementCache cache = ElementCache.mapped(file, 4096, 10, TimeUnit.MILLISECONDS);
+        cache.put("id", Collections.singletonMap("name", "alice"));
+        cache.close();
+
+        Thread.sleep(20);
+        assertNull(ElementCache.mapped(file, 4096, 10, TimeUnit.MILLISECONDS).get("id"));
+    }
+
+    @Test
+    public void testClose() {
+        ElementCache cache = ElementCache.mapped(file, 4096, 1, TimeUnit.HOURS);
+        cache.put("id", Collections.singletonMap("name", "alice"));
+        Map<String, Object> values = cache.get("id");
+        cache.close();
+        cache.close();
+
+        assertNull(values.get("name"));
+        assertTrue(values.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() {
+        ElementCache cache = ElementCache.mapped(file, 4096, 1, TimeUnit.HOURS);
+        cache.close();
+        cache.get("id");
+    }
+
+    @Test
+    public void testValues() {
+        ElementCache cache = ElementCache.mapped(file, 4096, 1, TimeUnit.HOURS);
+        Map<String, Object> values = new HashMap<>();
+        values.put("string", "é");
+        values.put("int", 1);
+        values.put("long", 2L);
+        values.put("double", 3.0);
+        values.put("float", 4.0f);
+        values.put("boolean", true);
+        values.put("short", (short) 5);
+        values.put("byte", (byte) 6);
+        values.put("date", new Date(7));
+        values.put("missing", null);
+        cache.put("id", values);
+
+        Map<String, Object> cached = cache.get("id");
+        assertEquals(values, new HashMap<>(cached));
+        assertTrue(cached.containsKey("missing"));
+        assertFalse(cached.containsKey("other"));
+        assertNull(cached.get("other"));
+
+        values.put("unsupported", new Object());
+        cache.put("id", values);
+        assertNull(cache.get("id"));
+    }
+
+    @Test
+    public void testFull() {
+        ElementCache cache = ElementCache.mapped(file, 64, 1, TimeUnit.HOURS);
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "alice");
+        cache.put(1L, values);
+        assertNotNull(cache.get(1L));
+        Map<String, Object> first = cache.get(1L);
+
+        cache.put(2L, values);
+        cache.put(3L, values);
+        assertNull(cache.get(1L));
+        assertFalse(first.containsKey("name"));
+        assertNotNull(cache.get(3L));
+
+        values.put("name", new String(new char[100]));
+        cache.put(4L, values);
+        assertNull(cache.get(4L));
+    }
+}
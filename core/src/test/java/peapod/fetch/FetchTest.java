@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.fetch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+
+public class FetchTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+    private Vertex charlie;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice");
+        bob = g.addVertex(T.label, "Person", "name", "bob");
+        charlie = g.addVertex(T.label, "Person", "name", "charlie");
+
+        alice.addEdge("knows", bob);
+        alice.addEdge("friend", bob);
+        alice.addEdge("friend", charlie);
+        bob.addEdge("friend", charlie);
+        bob.addEdge("manager", alice);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    private Person person(Vertex vertex) {
+        return graph.v(vertex.id());
+    }
+
+    private Person find(List<Person> people, Vertex vertex) {
+        return people.stream().filter(p -> p.vertex().equals(vertex)).findFirst().get();
+    }
+
+    private List<Person> others(List<Knows> knows) {
+        return knows.stream().map(Knows::getOther).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testFetch() {
+        List<Person> people = graph.V(Person.class).fetch("friend").toList();
+        assertEquals(3, people.size());
+
+        g.traversal().E().hasLabel("friend").drop().iterate();
+
+        assertThat(find(people, alice).getFriends(), containsInAnyOrder(person(bob), person(charlie)));
+        assertThat(find(people, bob).getFriends(), contains(person(charlie)));
+        assertThat(find(people, bob).getFriendOf(), contains(person(alice)));
+        assertThat(find(people, charlie).getFriendOf(), containsInAnyOrder(person(alice), person(bob)));
+        assertTrue(find(people, charlie).getFriends().isEmpty());
+    }
+
+    @Test
+    public void testFetchInBatches() {
+        for (int i = 0; i < 1500; i++) {
+            g.addVertex(T.label, "Person", "name", "p" + i).addEdge("friend", charlie);
+        }
+
+        List<Person> people = graph.V(Person.class).fetch("friend").toList();
+        assertEquals(1503, people.size());
+
+        g.traversal().E().hasLabel("friend").drop().iterate();
+
+        assertTrue(people.stream().allMatch(p -> p.vertex().equals(charlie) || !p.getFriends().isEmpty()));
+        assertEquals(1502, find(people, charlie).getFriendOf().size());
+    }
+
+    @Test
+    public void testFetchAll() {
+        List<Person> people = graph.V(Person.class).fetch().toList();
+
+        g.traversal().E().drop().iterate();
+
+        assertThat(others(find(people, alice).getKnows()), contains(person(bob)));
+        assertEquals(2, find(people, alice).getFriends().size());
+        assertEquals(person(alice), find(people, bob).getManager());
+        assertNull(find(people, alice).getManager());
+    }
+
+    @Test
+    public void testNotFetched() {
+        List<Person> people = graph.V(Person.class).fetch("knows").toList();
+
+        g.traversal().E().hasLabel("friend").drop().iterate();
+
+        assertTrue(find(people, alice).getFriends().isEmpty());
+        assertEquals(1, find(people, alice).getKnows().size());
+    }
+
+    @Test
+    public void testWritesInvalidate() {
+        List<Person> people = graph.V(Person.class).fetch().toList();
+        Person alicePerson = find(people, alice);
+        Person bobPerson = find(people, bob);
+        Person charliePerson = find(people, charlie);
+
+        alicePerson.addKnows(charliePerson);
+        assertThat(others(alicePerson.getKnows()), containsInAnyOrder(bobPerson, charliePerson));
+
+        bobPerson.setManager(charliePerson);
+        assertEquals(charliePerson, bobPerson.getManager());
+
+        people = graph.V(Person.class).fetch().toList();
+        alicePerson = find(people, alice);
+        alicePerson.removeKnows(bobPerson);
+        assertThat(others(alicePerson.getKnows()), contains(charliePerson));
+    }
+}
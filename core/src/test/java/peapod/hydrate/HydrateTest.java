@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.hydrate;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HydrateTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex vertex;
+
+    @Before
+    public void init() {
+        vertex = g.addVertex(T.label, "Person", "name", "alice", "first-name", "Alice");
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    @Test
+    public void testHydrateKeys() {
+        List<Person> people = graph.V(Person.class).hydrate("name").toList();
+        assertEquals(1, people.size());
+        Person alice = people.get(0);
+
+        vertex.property("name", "changed");
+        vertex.property("first-name", "Changed");
+        assertEquals("alice", alice.getName());
+        assertEquals("Changed", alice.getFirstName());
+    }
+
+    @Test
+    public void testHydrateAll() {
+        Person alice = graph.V(Person.class).hydrate().next();
+
+        vertex.property("name", "changed");
+        vertex.property("first-name", "Changed");
+        vertex.property("age", 30);
+        assertEquals("alice", alice.getName());
+        assertEquals("Alice", alice.getFirstName());
+        assertEquals(0, alice.getAge());
+    }
+
+    @Test
+    public void testHydrateWithoutCachedProperties() {
+        Vertex group = g.addVertex(T.label, "Group", "name", "admins");
+        group.addEdge("member", vertex);
+
+        Group admins = graph.V(Group.class).hydrate().next();
+        assertEquals(group, admins.vertex());
+        assertEquals(1, admins.getMembers().size());
+    }
+
+    @Test
+    public void testNotHydrated() {
+        Person alice = graph.V(Person.class).next();
+
+        vertex.property("name", "changed");
+        assertEquals("changed", alice.getName());
+    }
+
+    @Test
+    public void testSetterInvalidates() {
+        Person alice = graph.V(Person.class).hydrate().next();
+
+        alice.setName("bob");
+        assertEquals("bob", alice.getName());
+    }
+
+    @Test
+    public void testMultiProperties() {
+        Person alice = graph.V(Person.class).next();
+        alice.addNickname("ally");
+        alice.addNickname("al");
+
+        alice = graph.V(Person.class).hydrate("nickname").next();
+        assertEquals(2, alice.getNicknames().size());
+    }
+}
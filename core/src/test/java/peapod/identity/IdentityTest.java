@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.identity;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import static org.junit.Assert.*;
+
+public class IdentityTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice");
+        bob = g.addVertex(T.label, "Person", "name", "bob");
+        alice.addEdge("knows", bob);
+        alice.addEdge("friend", bob);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    @Test
+    public void testDisabled() {
+        Person first = graph.v(alice.id());
+        Person second = graph.v(alice.id());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testSameFrame() {
+        graph.enableIdentityMap(100);
+
+        Person alicePerson = graph.v(alice.id());
+        Person bobPerson = graph.v(bob.id());
+        assertSame(alicePerson, graph.v(alice.id(), Person.class));
+        assertSame(alicePerson, graph.V(Person.class).has("name", "alice").next());
+
+        Knows knows = alicePerson.getKnows().get(0);
+        assertSame(knows, alicePerson.getKnows().get(0));
+        assertSame(alicePerson, knows.getPerson());
+        assertSame(bobPerson, knows.getOther());
+        assertSame(bobPerson, alicePerson.getFriends().get(0));
+    }
+
+    @Test
+    public void testEviction() {
+        graph.enableIdentityMap(1);
+
+        Person first = graph.v(alice.id());
+        assertSame(first, graph.v(alice.id()));
+
+        graph.v(bob.id());
+        assertNotSame(first, graph.v(alice.id()));
+    }
+
+    @Test
+    public void testClear() {
+        graph.enableIdentityMap(100);
+
+        Person first = graph.v(alice.id());
+        graph.clearIdentityMap();
+        Person second = graph.v(alice.id());
+        assertNotSame(first, second);
+        assertSame(second, graph.v(alice.id()));
+    }
+
+    @Test
+    public void testPerThread() throws Exception {
+        graph.enableIdentityMap(100);
+
+        Person first = graph.v(alice.id());
+        Person[] other = new Person[2];
+        Thread thread = new Thread(() -> {
+            other[0] = graph.v(alice.id());
+            other[1] = graph.v(alice.id());
+        });
+        thread.start();
+        thread.join();
+
+        assertNotSame(first, other[0]);
+        assertSame(other[0], other[1]);
+        assertSame(first, graph.v(alice.id()));
+    }
+
+    @Test
+    public void testRemove() {
+        graph.enableIdentityMap(100);
+
+        Person first = graph.v(bob.id());
+        first.remove();
+
+        Vertex replacement = g.addVertex(T.id, bob.id(), T.label, "Person", "name", "bobby");
+        Person second = graph.v(replacement.id());
+        assertNotSame(first, second);
+        assertEquals("bobby", second.getName());
+    }
+}
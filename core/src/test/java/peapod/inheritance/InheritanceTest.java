@@ -31,6 +31,7 @@ import peapod.GraphTest;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class InheritanceTest extends GraphTest {
@@ -68,6 +69,14 @@ public class InheritanceTest extends GraphTest {
         assertEquals(10, ((Programmer) person).getYearsExperience());
     }
 
+    @Test
+    public void testFrameByLabel() {
+        List<?> framed = graph.frame(g.traversal().V().has("name", "alice"), Programmer.class);
+        assertEquals(1, framed.size());
+        assertTrue(framed.get(0) instanceof Person);
+        assertFalse(framed.get(0) instanceof Programmer);
+    }
+
     @Test
     public void testFindWithInterfaces() {
         assertEquals(5, graph.V(Animal.class).toList().size());
@@ -27,11 +27,14 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import javax.tools.JavaFileObject;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assert_;
 import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
 
 public class AnnotationProcessorTest {
 
@@ -53,6 +56,47 @@ public class AnnotationProcessorTest {
                 .and().generatesSources(framedVertex, framedEdge);
     }
 
+    @Test
+    public void testCompileFramerIndex() {
+        List<JavaFileObject> input = new ArrayList<>();
+        input.add(JavaFileObjects.forResource("peapod/internal/classes/Person.java"));
+        input.add(JavaFileObjects.forResource("peapod/internal/classes/Knows.java"));
+        JavaFileObject framerIndex = JavaFileObjects.forResource("peapod/internal/classes/FramerIndex$Impl.java");
+
+        assert_().about(javaSources())
+                .that(input)
+                .processedWith(new AnnotationProcessor())
+                .compilesWithoutError()
+                .and().generatesSources(framerIndex)
+                .and().generatesFileNamed(CLASS_OUTPUT, "", "META-INF/peapod/framers")
+                .withStringContents(StandardCharsets.UTF_8, "peapod.internal.classes.FramerIndex$Impl\n");
+    }
+
+    @Test
+    public void testCompileFramerIndexIncrementally() {
+        JavaFileObject software = JavaFileObjects.forSourceString("peapod.fetch.Software", "package peapod.fetch;\n"
+                + "@peapod.annotations.Vertex\n"
+                + "public abstract class Software {\n"
+                + "    public abstract String getName();\n"
+                + "}\n");
+        JavaFileObject framerIndex = JavaFileObjects.forSourceString("peapod.fetch.FramerIndex$Impl", "package peapod.fetch;\n"
+                + "import java.util.Arrays;\n"
+                + "import java.util.List;\n"
+                + "import peapod.internal.runtime.FramerIndex;\n"
+                + "import peapod.internal.runtime.IFramer;\n"
+                + "public final class FramerIndex$Impl implements FramerIndex {\n"
+                + "    public List<IFramer<?, ?>> framers() {\n"
+                + "        return Arrays.<IFramer<?, ?>>asList(new Knows$Impl.KnowsFramer(), new Person$Impl.PersonFramer(), new Software$Impl.SoftwareFramer());\n"
+                + "    }\n"
+                + "}\n");
+
+        assert_().about(javaSources())
+                .that(Collections.singletonList(software))
+                .processedWith(new AnnotationProcessor())
+                .compilesWithoutError()
+                .and().generatesSources(framerIndex);
+    }
+
     @Test
     public void testCompileForInterfaces() {
         List<JavaFileObject> input = new ArrayList<>();
@@ -70,4 +114,20 @@ public class AnnotationProcessorTest {
                 .and().generatesSources(framedVertex, framedSubVertex, framedEdge);
     }
 
+    @Test
+    public void testInvalidDefaultValue() {
+        JavaFileObject person = JavaFileObjects.forSourceString("peapod.defaults.Person", "package peapod.defaults;\n"
+                + "@peapod.annotations.Vertex\n"
+                + "public abstract class Person {\n"
+                + "    @peapod.annotations.DefaultValue(\"old\")\n"
+                + "    public abstract int getAge();\n"
+                + "}\n");
+
+        assert_().about(javaSources())
+                .that(Collections.singletonList(person))
+                .processedWith(new AnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Invalid default value \"old\" for int");
+    }
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.lazy;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class LazyTest extends GraphTest {
+
+    private Person alice;
+    private Person bob;
+    private Person charlie;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        Vertex charlie = g.addVertex(T.label, "Person", "name", "charlie");
+
+        alice.addEdge("friend", bob);
+        alice.addEdge("friend", charlie);
+        alice.addEdge("knows", bob);
+
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        this.alice = graph.v(alice.id());
+        this.bob = graph.v(bob.id());
+        this.charlie = graph.v(charlie.id());
+    }
+
+    @Test
+    public void testIterable() {
+        Iterable<Person> friends = alice.getFriends();
+        assertEquals(2, count(friends.iterator()));
+        assertEquals(2, count(friends.iterator()));
+
+        alice.vertex().addEdge("friend", g.addVertex(T.label, "Employee", "name", "dave"));
+        assertEquals(3, count(friends.iterator()));
+        assertEquals(1, alice.getFriendStream().filter(p -> p instanceof Employee).count());
+    }
+
+    @Test
+    public void testStream() {
+        List<String> names = alice.getFriendStream().map(Person::getName).sorted().collect(Collectors.toList());
+        assertEquals(2, names.size());
+        assertEquals("bob", names.get(0));
+        assertEquals("charlie", names.get(1));
+    }
+
+    @Test
+    public void testEdgeStream() {
+        assertEquals(1, alice.getKnows().count());
+        alice.addKnows(charlie);
+        assertEquals(2, alice.getKnows().map(Knows::getOther).count());
+        assertEquals(0, bob.getKnows().count());
+    }
+
+    @Test
+    public void testLazyList() {
+        List<Person> friends = alice.getFriendList();
+        assertFalse(friends.isEmpty());
+        assertTrue(friends.contains(bob));
+        assertEquals(2, friends.size());
+        assertTrue(friends.containsAll(bob.getFriendList()));
+        assertTrue(bob.getFriendList().isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testLazyListOutOfBounds() {
+        alice.getFriendList().get(2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLazyListUnmodifiable() {
+        alice.getFriendList().add(alice);
+    }
+
+    private static int count(Iterator<?> it) {
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.order;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.ElementCache;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.*;
+
+public class OrderTest extends GraphTest {
+
+    private FramedGraph graph;
+
+    /**
+     * Ids of the framed vertices, as the element cache is queried once per framed vertex.
+     */
+    private List<Object> framed = new ArrayList<>();
+
+    @Before
+    public void init() {
+        g.addVertex(T.label, "Person", "name", "alice", "age", 30);
+        g.addVertex(T.label, "Person", "name", "bob", "age", 25);
+        g.addVertex(T.label, "Person", "name", "charlie", "age", 40);
+        g.addVertex(T.label, "Person", "name", "dave", "age", 35);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+        graph.setElementCache(new ElementCache() {
+            @Override
+            public Map<String, Object> get(Object id) {
+                framed.add(id);
+                return null;
+            }
+
+            @Override
+            public void put(Object id, Map<String, Object> properties) {
+            }
+
+            @Override
+            public long version() {
+                return 0;
+            }
+
+            @Override
+            public void put(Object id, Map<String, Object> properties, long version) {
+            }
+
+            @Override
+            public void invalidate(Object id) {
+            }
+
+            @Override
+            public void clear() {
+            }
+        });
+    }
+
+    private List<String> names(List<Person> people) {
+        return people.stream().map(Person::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testOrder() {
+        assertThat(names(graph.V(Person.class).order().by("age").toList()), contains("bob", "alice", "dave", "charlie"));
+        assertThat(names(graph.V(Person.class).order().by("name", Order.decr).toList()), contains("dave", "charlie", "bob", "alice"));
+    }
+
+    @Test
+    public void testLimit() {
+        List<Person> people = graph.V(Person.class).order().by("age", Order.decr).limit(2).toList();
+        assertThat(names(people), contains("charlie", "dave"));
+        assertEquals(2, framed.size());
+    }
+
+    @Test
+    public void testRange() {
+        List<Person> people = graph.V(Person.class).order().by("age", Order.incr).range(1, 3).toList();
+        assertThat(names(people), contains("alice", "dave"));
+        assertEquals(2, framed.size());
+        assertTrue(graph.V(Person.class).range(4, 6).toList().isEmpty());
+    }
+
+    @Test
+    public void testTail() {
+        List<Person> people = graph.V(Person.class).order().by("age").tail(1).toList();
+        assertThat(names(people), contains("charlie"));
+        assertEquals(1, framed.size());
+    }
+
+    @Test
+    public void testCached() {
+        graph.enableQueryCache(10);
+        assertThat(names(graph.V(Person.class).order().by("age").limit(1).cached().toList()), contains("bob"));
+
+        graph.V(Person.class).has("name", "alice").next().vertex().property("age", 20);
+        assertThat(names(graph.V(Person.class).order().by("age").limit(1).cached().toList()), contains("bob"));
+        graph.clearQueryCache();
+        assertThat(names(graph.V(Person.class).order().by("age").limit(1).cached().toList()), contains("alice"));
+    }
+}
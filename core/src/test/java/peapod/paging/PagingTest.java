@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.paging;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.*;
+
+public class PagingTest extends GraphTest {
+
+    private Person alice;
+    private Software peapod;
+
+    @Before
+    public void init() {
+        Vertex alice = g.addVertex(T.label, "Person", "name", "alice");
+        Vertex bob = g.addVertex(T.label, "Person", "name", "bob");
+        Vertex peapod = g.addVertex(T.label, "Software", "name", "peapod");
+        Vertex ripple = g.addVertex(T.label, "Software", "name", "ripple");
+        Vertex lop = g.addVertex(T.label, "Software", "name", "lop");
+
+        alice.addEdge("develops", ripple, "since", 2012);
+        alice.addEdge("develops", peapod, "since", 2015);
+        alice.addEdge("develops", lop, "since", 2009);
+        bob.addEdge("develops", peapod, "since", 2010);
+
+        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        this.alice = graph.v(alice.id());
+        this.peapod = graph.v(peapod.id());
+    }
+
+    @Test
+    public void testOrderBy() {
+        assertThat(since(alice.getDevelops()), contains(2009, 2012, 2015));
+    }
+
+    @Test
+    public void testLimit() {
+        assertThat(since(alice.getDevelops(2)), contains(2015, 2012));
+        assertTrue(alice.getDevelops(0).isEmpty());
+    }
+
+    @Test
+    public void testRange() {
+        assertEquals(2, alice.getDevelops(1, 2).size());
+        assertEquals(1, alice.getDevelops(2, 2).size());
+        assertTrue(alice.getDevelops(3, 2).isEmpty());
+        assertEquals(3, alice.getDevelops(0, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testVertices() {
+        List<String> names = alice.getSoftware(1, 5).map(Software::getName).collect(Collectors.toList());
+        assertThat(names, contains("ripple", "lop"));
+    }
+
+    @Test
+    public void testParametersNamedLikeGeneratedVariables() {
+        assertEquals(2, alice.getProjects(1, 2).size());
+        assertEquals(1, alice.getContributions(2, 2).size());
+    }
+
+    @Test
+    public void testIn() {
+        List<String> names = peapod.getDevelopers(1).stream().map(Person::getName).collect(Collectors.toList());
+        assertThat(names, contains("bob"));
+    }
+
+    private static List<Integer> since(List<Develops> develops) {
+        return develops.stream().map(Develops::getSince).collect(Collectors.toList());
+    }
+}
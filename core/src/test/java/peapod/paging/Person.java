@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.paging;
+
+import peapod.FramedVertex;
+import peapod.annotations.Edge;
+import peapod.annotations.OrderBy;
+import peapod.annotations.Vertex;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Vertex
+public abstract class Person implements FramedVertex<Person> {
+
+    public abstract String getName();
+
+    public abstract List<Develops> getDevelops(int offset, int limit);
+
+    @OrderBy("since")
+    public abstract List<Develops> getDevelops();
+
+    @OrderBy(value = "since", descending = true)
+    public abstract List<Develops> getDevelops(int limit);
+
+    @OrderBy(value = "since", descending = true)
+    @Edge("develops")
+    public abstract Stream<Software> getSoftware(long offset, long limit);
+
+    @Edge("develops")
+    public abstract List<Software> getProjects(int vertex, int it);
+
+    @Edge("develops")
+    public abstract List<Develops> getContributions(long edge, long limit);
+
+}
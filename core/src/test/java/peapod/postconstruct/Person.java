@@ -43,6 +43,7 @@
 
 package peapod.postconstruct;
 
+import peapod.annotations.DefaultValue;
 import peapod.annotations.Vertex;
 
 import javax.annotation.PostConstruct;
@@ -59,6 +60,14 @@ public abstract class Person {
 
     public abstract void setCreationTms(long tms);
 
+    @DefaultValue("new")
+    public abstract String getStatus();
+
+    public abstract void setStatus(String status);
+
+    @DefaultValue("3")
+    public abstract int getLevel();
+
     @PostConstruct
     protected void init() {
         setCreationTms(System.currentTimeMillis());
@@ -43,11 +43,13 @@
 
 package peapod.postconstruct;
 
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Before;
 import org.junit.Test;
 import peapod.FramedGraph;
 import peapod.GraphTest;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 
@@ -56,11 +58,12 @@ import static org.junit.Assert.assertTrue;
  */
 public class PostConstructTest extends GraphTest {
 
+    private FramedGraph graph;
     private Person p;
 
     @Before
     public void init() {
-        FramedGraph graph = new FramedGraph(g, Person.class.getPackage());
+        graph = new FramedGraph(g, Person.class.getPackage());
         p = graph.addVertex(Person.class);
     }
 
@@ -69,5 +72,20 @@ public class PostConstructTest extends GraphTest {
         assertTrue(p.getCreationTms() > 0);
     }
 
+    @Test
+    public void testDefaultValues() {
+        assertEquals("new", p.getStatus());
+        assertEquals(3, p.getLevel());
+    }
+
+    @Test
+    public void testGivenValuesOverrideDefaults() {
+        Person person = graph.addVertex(Person.class, "status", "old", "creationTms", 42L);
+        assertEquals("old", person.getStatus());
+        assertEquals(3, person.getLevel());
+        assertEquals(42L, person.getCreationTms());
+        assertEquals(1, IteratorUtils.count(g.traversal().V().has("creationTms", 42L).properties("status")));
+    }
+
 
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.predicate;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+
+public class PredicateTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+    private Vertex charlie;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice", "age", 25);
+        bob = g.addVertex(T.label, "Programmer", "name", "bob", "age", 35, "language", "java");
+        charlie = g.addVertex(T.label, "Programmer", "name", "charlie", "age", 45, "language", "groovy");
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    private Person person(Vertex vertex) {
+        return graph.v(vertex.id());
+    }
+
+    @Test
+    public void testHasPredicate() {
+        assertThat(graph.V(Person.class).has("age", P.gt(30)).toList(), containsInAnyOrder(person(bob), person(charlie)));
+        assertThat(graph.V(Person.class).has("age", P.between(20, 40)).toList(), containsInAnyOrder(person(alice), person(bob)));
+        assertThat(graph.V(Person.class).has("name", P.within("alice", "charlie")).toList(), containsInAnyOrder(person(alice), person(charlie)));
+        assertTrue(graph.V(Person.class).has("age", P.lt(20)).toList().isEmpty());
+    }
+
+    @Test
+    public void testHasLabelPredicate() {
+        List<Person> result = graph.V(Person.class).has("Programmer", "age", P.lte(35)).toList();
+        assertThat(result, contains(person(bob)));
+    }
+
+    @Test
+    public void testHasId() {
+        assertThat(graph.V(Person.class).hasId(alice.id(), charlie.id()).toList(), containsInAnyOrder(person(alice), person(charlie)));
+    }
+
+    @Test
+    public void testHasLabel() {
+        List<Programmer> programmers = graph.V(Person.class).has("age", P.gt(30)).hasLabel(Programmer.class).has("language", "java").toList();
+        assertEquals(1, programmers.size());
+        assertEquals("java", programmers.get(0).getLanguage());
+    }
+
+    @Test
+    public void testIs() {
+        List<Integer> ages = graph.V(Person.class).<Integer>values("age").is(P.gte(35)).toList();
+        assertThat(ages, containsInAnyOrder(35, 45));
+    }
+
+    @Test
+    public void testCached() {
+        graph.enableQueryCache(10);
+        assertThat(graph.V(Person.class).has("age", P.gt(40)).cached().toList(), contains(person(charlie)));
+
+        bob.property("age", 50);
+
+        assertThat(graph.V(Person.class).has("age", P.gt(40)).cached().toList(), contains(person(charlie)));
+        assertThat(graph.V(Person.class).has("age", P.gt(30)).cached().toList(), containsInAnyOrder(person(bob), person(charlie)));
+    }
+}
@@ -100,5 +100,9 @@ public abstract class Person {
 
     public abstract void setBy2(byte by2);
 
+    public abstract String getx();
+
+    public abstract void setx(String x);
+
 
 }
@@ -83,6 +83,13 @@ public class PropertyTest extends GraphTest {
         assertFalse(v.property("date").isPresent());
     }
 
+    @Test
+    public void testLowerCaseAccessors() {
+        p.setx("lower");
+        assertEquals("lower", p.getx());
+        assertEquals("lower", v.value("x"));
+    }
+
     @Test
     public void testGetBoolean() {
         assertEquals(TRUE, p.getB1());
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.querycache;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class QueryCacheTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex peapod;
+    private Vertex gremlin;
+    private Edge uses;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice");
+        peapod = g.addVertex(T.label, "Software", "name", "peapod", "lang", "java");
+        gremlin = g.addVertex(T.label, "Software", "name", "gremlin", "lang", "groovy");
+        uses = alice.addEdge("uses", peapod, "since", 2015);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+        graph.enableQueryCache(100);
+    }
+
+    private Software software(Vertex vertex) {
+        return graph.v(vertex.id());
+    }
+
+    private List<Software> java() {
+        return graph.V(Software.class).has("lang", "java").cached().toList();
+    }
+
+    private List<Software> usedByAlice() {
+        return graph.V(Person.class).has("name", "alice").out("uses", Software.class).cached().toList();
+    }
+
+    @Test
+    public void testCached() {
+        assertThat(java(), contains(software(peapod)));
+
+        gremlin.property("lang", "java");
+
+        assertThat(java(), contains(software(peapod)));
+        assertThat(graph.V(Software.class).has("lang", "java").toList(), containsInAnyOrder(software(peapod), software(gremlin)));
+
+        graph.clearQueryCache();
+        assertThat(java(), containsInAnyOrder(software(peapod), software(gremlin)));
+    }
+
+    @Test
+    public void testDisabled() {
+        graph = new FramedGraph(g, Person.class.getPackage());
+        assertThat(java(), contains(software(peapod)));
+
+        gremlin.property("lang", "java");
+
+        assertThat(java(), containsInAnyOrder(software(peapod), software(gremlin)));
+    }
+
+    @Test
+    public void testNormalized() {
+        assertThat(graph.V(Software.class).has("lang", "java").has("name", "peapod").cached().toList(), contains(software(peapod)));
+
+        peapod.property("lang", "groovy");
+
+        assertThat(graph.V(Software.class).has("name", "peapod").has("lang", "java").cached().toList(), contains(software(peapod)));
+        assertThat(graph.V(Software.class).has("name", "peapod").has("lang", "groovy").cached().toList(), contains(software(peapod)));
+    }
+
+    @Test
+    public void testPropertyWriteInvalidates() {
+        assertThat(java(), contains(software(peapod)));
+
+        software(gremlin).setLang("java");
+
+        assertThat(java(), containsInAnyOrder(software(peapod), software(gremlin)));
+    }
+
+    @Test
+    public void testOtherPropertyWriteKeepsCache() {
+        assumeFalse(g.features().graph().supportsTransactions());
+        assertThat(java(), contains(software(peapod)));
+
+        gremlin.property("lang", "java");
+        software(peapod).setName("peapod2");
+
+        assertThat(java(), contains(software(peapod)));
+    }
+
+    @Test
+    public void testBypassedAfterWriteInTransaction() {
+        assumeTrue(g.features().graph().supportsTransactions());
+        assertThat(java(), contains(software(peapod)));
+
+        software(peapod).setName("peapod2");
+        gremlin.property("lang", "java");
+        assertThat(java(), containsInAnyOrder(software(peapod), software(gremlin)));
+
+        gremlin.property("lang", "groovy");
+        assertThat(java(), contains(software(peapod)));
+    }
+
+    @Test
+    public void testAddVertexInvalidates() {
+        assertThat(java(), contains(software(peapod)));
+
+        Software added = graph.addVertex(Software.class, "lang", "java");
+
+        assertThat(java(), containsInAnyOrder(software(peapod), added));
+    }
+
+    @Test
+    public void testEdgeWriteInvalidates() {
+        assertThat(usedByAlice(), contains(software(peapod)));
+
+        graph.<Person>v(alice.id()).addUses(software(gremlin));
+
+        assertThat(usedByAlice(), containsInAnyOrder(software(peapod), software(gremlin)));
+    }
+
+    @Test
+    public void testEdgePropertyWriteInvalidates() {
+        Uses framed = graph.frame(uses, Uses.class);
+        assertThat(framed.start().has("since", 2015).outV(Person.class).cached().toList(), contains(graph.<Person>v(alice.id())));
+
+        framed.setSince(2016);
+
+        assertThat(framed.start().has("since", 2015).outV(Person.class).cached().toList(), empty());
+    }
+
+    @Test
+    public void testRemoveInvalidates() {
+        assertThat(usedByAlice(), contains(software(peapod)));
+        alice.addEdge("uses", gremlin);
+
+        software(peapod).remove();
+
+        assertThat(usedByAlice(), contains(software(gremlin)));
+    }
+
+    @Test
+    public void testFilterNotCached() {
+        assertThat(javaFiltered(), contains(software(peapod)));
+
+        gremlin.property("lang", "java");
+
+        assertThat(javaFiltered(), containsInAnyOrder(software(peapod), software(gremlin)));
+    }
+
+    private List<Software> javaFiltered() {
+        return graph.V(Software.class).filter(t -> "java".equals(((Vertex) (Object) t.get()).value("lang"))).cached().toList();
+    }
+}
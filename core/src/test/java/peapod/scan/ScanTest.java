@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.scan;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+import peapod.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.*;
+
+public class ScanTest extends GraphTest {
+
+    private FramedGraph graph;
+
+    @Before
+    public void init() {
+        for (String name : new String[]{"dave", "alice", "eve", "bob", "charlie"}) {
+            g.addVertex(T.label, "Person", "name", name);
+        }
+        g.addVertex(T.label, "Software", "name", "peapod");
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    private List<String> names(List<Person> people) {
+        List<String> names = new ArrayList<>();
+        people.forEach(p -> names.add(p.getName()));
+        return names;
+    }
+
+    @Test
+    public void testScanByKey() {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Person> page = graph.scan(Person.class, "name", 2, cursor);
+            names.addAll(names(page.frames()));
+            cursor = page.cursor();
+        } while (cursor != null);
+
+        assertThat(names, contains("alice", "bob", "charlie", "dave", "eve"));
+    }
+
+    @Test
+    public void testLastPageFull() {
+        Page<Person> page = graph.scan(Person.class, "name", 5, null);
+        assertEquals(5, page.frames().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCursor() {
+        graph.scan(Person.class, "name", 2, "invalid");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingKey() {
+        graph.scan(Person.class, null, 2, null);
+    }
+}
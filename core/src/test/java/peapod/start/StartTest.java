@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.start;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.GraphTest;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+
+public class StartTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+    private Vertex charlie;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice");
+        bob = g.addVertex(T.label, "Person", "name", "bob");
+        charlie = g.addVertex(T.label, "Person", "name", "charlie");
+        alice.addEdge("knows", bob);
+        bob.addEdge("knows", charlie);
+        alice.property(VertexProperty.Cardinality.list, "location", "brussels", "startTime", 2010);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    private Person person(Vertex vertex) {
+        return graph.v(vertex.id());
+    }
+
+    @Test
+    public void testVertex() {
+        assertThat(person(alice).out("knows", Person.class).toList(), contains(person(bob)));
+        assertThat(person(alice).out("knows", Person.class).out("knows", Person.class).toList(), contains(person(charlie)));
+        assertThat(person(charlie).in("knows", Person.class).in("knows", Person.class).toList(), contains(person(alice)));
+    }
+
+    @Test
+    public void testEdge() {
+        Knows knows = person(alice).getKnows().get(0);
+        assertThat(knows.start().outV(Person.class).toList(), contains(person(alice)));
+        assertThat(knows.start().inV(Person.class).toList(), contains(person(bob)));
+        assertThat(knows.start().inV(Person.class).out("knows", Person.class).toList(), contains(person(charlie)));
+    }
+
+    @Test
+    public void testVertexProperty() {
+        Location location = person(alice).getLocations().get(0);
+        List<Object> values = location.start().value().toList();
+        assertThat(values, contains("brussels"));
+        assertThat(location.start().values("startTime").toList(), contains(2010));
+    }
+
+    @Test
+    public void testCached() {
+        graph.enableQueryCache(10);
+        assertThat(person(alice).out("knows", Person.class).cached().toList(), contains(person(bob)));
+
+        alice.addEdge("knows", charlie);
+        assertThat(person(alice).out("knows", Person.class).cached().toList(), contains(person(bob)));
+
+        graph.clearQueryCache();
+        assertThat(person(alice).out("knows", Person.class).cached().toList(), containsInAnyOrder(person(bob), person(charlie)));
+    }
+}
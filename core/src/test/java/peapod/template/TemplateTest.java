@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015 Bay of Many
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ * This project is derived from code in the TinkerPop project under the following license:
+ *
+ *    TinkerPop3
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package peapod.template;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+import peapod.FramedGraph;
+import peapod.FramedGraphTraversal;
+import peapod.GraphTest;
+import peapod.TraversalTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.*;
+import static peapod.TraversalTemplate.parameter;
+
+public class TemplateTest extends GraphTest {
+
+    private FramedGraph graph;
+    private Vertex alice;
+    private Vertex bob;
+    private Vertex charlie;
+
+    @Before
+    public void init() {
+        alice = g.addVertex(T.label, "Person", "name", "alice", "age", 25);
+        bob = g.addVertex(T.label, "Person", "name", "bob", "age", 35);
+        charlie = g.addVertex(T.label, "Person", "name", "charlie", "age", 45);
+        alice.addEdge("friend", bob);
+        bob.addEdge("friend", charlie);
+
+        graph = new FramedGraph(g, Person.class.getPackage());
+    }
+
+    private Person person(Vertex vertex) {
+        return graph.v(vertex.id());
+    }
+
+    private List<String> names(List<Person> people) {
+        return people.stream().map(Person::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testBind() {
+        TraversalTemplate<Person> byName = graph.V(Person.class).has("name", parameter("name")).compile();
+        assertThat(byName.parameters(), contains("name"));
+
+        assertThat(byName.toList("name", "alice"), contains(person(alice)));
+        assertThat(byName.toList("name", "bob"), contains(person(bob)));
+        assertTrue(byName.toList("name", "dave").isEmpty());
+        assertEquals(person(charlie), byName.tryNext("name", "charlie").get());
+        assertFalse(byName.tryNext("name", "dave").isPresent());
+    }
+
+    @Test
+    public void testPredicates() {
+        TraversalTemplate<Person> between = graph.V(Person.class).has("age", P.between(parameter("low"), parameter("high"))).order().by("age").compile();
+        assertThat(names(between.toList("low", 20, "high", 40)), contains("alice", "bob"));
+        assertThat(names(between.toList("low", 30, "high", 50)), contains("bob", "charlie"));
+
+        TraversalTemplate<Integer> ages = graph.V(Person.class).<Integer>values("age").is(P.gt(parameter("age"))).compile();
+        assertThat(ages.toList("age", 30), containsInAnyOrder(35, 45));
+    }
+
+    @Test
+    public void testFetch() {
+        TraversalTemplate<Person> olderThan = graph.V(Person.class).has("age", P.gt(parameter("age"))).fetch("friend").compile();
+        List<Person> people = olderThan.toList("age", 30);
+        g.traversal().E().drop().iterate();
+
+        assertThat(people.stream().filter(p -> p.getName().equals("bob")).findFirst().get().getFriends(), contains(person(charlie)));
+        assertTrue(olderThan.toList("age", 40).get(0).getFriends().isEmpty());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        TraversalTemplate<Person> olderThan = graph.V(Person.class).has("age", P.gt(parameter("age"))).compile();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int age = 20 + (i % 3) * 10;
+                futures.add(executor.submit(() -> olderThan.toList("age", age).size()));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(3 - i % 3, (int) futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingParameter() {
+        graph.V(Person.class).has("name", parameter("name")).compile().toList();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownParameter() {
+        graph.V(Person.class).has("name", parameter("name")).compile().toList("name", "alice", "age", 30);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExecuted() {
+        FramedGraphTraversal<?, Person> traversal = graph.V(Person.class);
+        traversal.toList();
+        traversal.compile();
+    }
+}
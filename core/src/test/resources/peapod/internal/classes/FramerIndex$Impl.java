@@ -0,0 +1,12 @@
+package peapod.internal.classes;
+
+import java.util.Arrays;
+import java.util.List;
+import peapod.internal.runtime.FramerIndex;
+import peapod.internal.runtime.IFramer;
+
+public final class FramerIndex$Impl implements FramerIndex {
+    public List<IFramer<?, ?>> framers() {
+        return Arrays.<IFramer<?, ?>>asList(new Knows$Impl.KnowsFramer(), new Person$Impl.PersonFramer());
+    }
+}
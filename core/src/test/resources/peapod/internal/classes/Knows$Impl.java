@@ -6,6 +6,7 @@ import java.lang.String;
 import java.lang.SuppressWarnings;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import peapod.FramedEdge;
 import peapod.FramedElement;
 import peapod.FramedGraph;
@@ -30,11 +31,13 @@ public final class Knows$Impl extends Knows
     }
     public Person getPerson() {
         // edge-getter-vertex
-        return graph().frame(e.outVertex(), Person.class);
+        Vertex $vertex = e.outVertex();
+        return "Person".equals($vertex.label()) ? (graph.framesDirectly() ? new Person$Impl($vertex, graph) : graph.frame($vertex, Person.class, Person$Impl::new)) : graph.frame($vertex, Person.class);
     }
     public Person getOtherPerson() {
         // edge-getter-vertex
-        return graph().frame(e.inVertex(), Person.class);
+        Vertex $vertex = e.inVertex();
+        return "Person".equals($vertex.label()) ? (graph.framesDirectly() ? new Person$Impl($vertex, graph) : graph.frame($vertex, Person.class, Person$Impl::new)) : graph.frame($vertex, Person.class);
     }
     public int hashCode() {
         return e.hashCode();
@@ -65,7 +68,7 @@ public final class Knows$Impl extends Knows
         }
 
         public Knows frame(Edge e, FramedGraph graph) {
-            return new Knows$Impl(e, graph);
+            return graph.framesDirectly() ? new Knows$Impl(e, graph) : graph.frame(e, Knows.class, Knows$Impl::new);
         }
 
         public Knows frameNew(Edge e, FramedGraph graph) {
@@ -4,23 +4,34 @@ import java.lang.Class;
 import java.lang.Object;
 import java.lang.String;
 import java.lang.SuppressWarnings;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import peapod.FramedElement;
 import peapod.FramedGraph;
 import peapod.FramedVertex;
+import peapod.internal.runtime.FrameHelper;
 import peapod.internal.runtime.Framer;
+import peapod.internal.runtime.Hydratable;
 import peapod.internal.runtime.IFramer;
 
 
 @SuppressWarnings("unused")
 public final class Person$Impl extends Person
-        implements FramedVertex<Person> {
+        implements FramedVertex<Person>, Hydratable {
 
     private FramedGraph graph;
     private Vertex v;
+
+    private Object name$value;
+
+    private boolean name$loaded;
+
+    private List<Edge> knows$edges;
     public Person$Impl(Vertex v, FramedGraph graph) {
         this.v  = v;
         this.graph = graph;
@@ -32,11 +43,14 @@ public final class Person$Impl extends Person
         return v;
     }
     public String getName() {
+        if (name$loaded) {
+            return (String) name$value;
+        }
         return v.<String>property("name").orElse(null);
     }
     public List<Knows> getKnows() {
         // getter-edge-collection
-        return graph.frame(v.edges(Direction.OUT, "knows"), Knows.class);
+        return FrameHelper.frame(FrameHelper.edges(v, knows$edges, Direction.OUT, "knows"), $edge -> graph.framesDirectly() ? new Knows$Impl($edge, graph) : graph.frame($edge, Knows.class, Knows$Impl::new));
     }
     public int hashCode() {
         return v.hashCode();
@@ -50,6 +64,24 @@ public final class Person$Impl extends Person
         return v.label() + "[" + v.id() + "]";
     }
 
+    public void hydrate(Map<String, Object> properties, Map<String, List<Edge>> edges) {
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            switch (property.getKey()) {
+                case "name":
+                    name$value = property.getValue();
+                    name$loaded = true;
+                    break;
+            }
+        }
+        if (edges.containsKey("knows")) {
+            knows$edges = edges.get("knows");
+        }
+    }
+
+    public static Builder builder(FramedGraph graph) {
+        return new Builder(graph);
+    }
+
     @Framer
     public static final class PersonFramer
             implements IFramer<Vertex, Person> {
@@ -67,11 +99,33 @@ public final class Person$Impl extends Person
         }
 
         public Person frame(Vertex v, FramedGraph graph) {
-            return new Person$Impl(v, graph);
+            return graph.framesDirectly() ? new Person$Impl(v, graph) : graph.frame(v, Person.class, Person$Impl::new);
         }
 
         public Person frameNew(Vertex v, FramedGraph graph) {
             return frame(v, graph);
         }
+
+        public String[] propertyKeys() {
+            return new String[]{"name"};
+        }
+
+        public String[] edgeLabels() {
+            return new String[]{"knows"};
+        }
+    }
+
+    public static final class Builder {
+        private final FramedGraph graph;
+
+        private final Map<String, Object> properties = new LinkedHashMap<>();
+
+        private Builder(FramedGraph graph) {
+            this.graph = graph;
+        }
+
+        public Person create() {
+            return graph.addVertex(Person.class, FrameHelper.keyValues(properties));
+        }
     }
 }
\ No newline at end of file
@@ -65,7 +65,7 @@ public final class Knows$Impl
         }
 
         public Knows frame(Edge e, FramedGraph graph) {
-            return new Knows$Impl(e, graph);
+            return graph.framesDirectly() ? new Knows$Impl(e, graph) : graph.frame(e, Knows.class, Knows$Impl::new);
         }
 
         public Knows frameNew(Edge e, FramedGraph graph) {
@@ -5,21 +5,32 @@ import java.lang.Integer;
 import java.lang.Object;
 import java.lang.String;
 import java.lang.SuppressWarnings;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import peapod.FramedElement;
 import peapod.FramedGraph;
 import peapod.FramedVertex;
+import peapod.internal.runtime.FrameHelper;
 import peapod.internal.runtime.Framer;
+import peapod.internal.runtime.Hydratable;
 import peapod.internal.runtime.IFramer;
 
 @SuppressWarnings("unused")
-public final class Programmer$Impl implements FramedVertex<Programmer>, Programmer, Person {
+public final class Programmer$Impl implements FramedVertex<Programmer>, Programmer, Person, Hydratable {
 
     private FramedGraph graph;
     private Vertex v;
+
+    private Object name$value;
+
+    private boolean name$loaded;
+
+    private List<Edge> knows$edges;
     public Programmer$Impl(Vertex v, FramedGraph graph) {
         this.v  = v;
         this.graph = graph;
@@ -31,18 +42,25 @@ public final class Programmer$Impl implements FramedVertex<Programmer>, Programm
         return v;
     }
     public void setExperience(Integer years) {
-        if (years == null) {
-            v.property("experience").remove();
-        } else {
-            v.property("experience", years);
+        try {
+            if (years == null) {
+                v.property("experience").remove();
+            } else {
+                v.property("experience", years);
+            }
+        } finally {
+            graph.invalidate(v, "experience");
         }
     }
     public String getName() {
+        if (name$loaded) {
+            return (String) name$value;
+        }
         return v.<String>property("name").orElse(null);
     }
     public List<Knows> getKnows() {
         // getter-edge-collection
-        return graph.frame(v.edges(Direction.OUT, "knows"), Knows.class);
+        return FrameHelper.frame(FrameHelper.edges(v, knows$edges, Direction.OUT, "knows"), $edge -> graph.framesDirectly() ? new Knows$Impl($edge, graph) : graph.frame($edge, Knows.class, Knows$Impl::new));
     }
     public int hashCode() {
         return v.hashCode();
@@ -56,6 +74,24 @@ public final class Programmer$Impl implements FramedVertex<Programmer>, Programm
         return v.label() + "[" + v.id() + "]";
     }
 
+    public void hydrate(Map<String, Object> properties, Map<String, List<Edge>> edges) {
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            switch (property.getKey()) {
+                case "name":
+                    name$value = property.getValue();
+                    name$loaded = true;
+                    break;
+            }
+        }
+        if (edges.containsKey("knows")) {
+            knows$edges = edges.get("knows");
+        }
+    }
+
+    public static Builder builder(FramedGraph graph) {
+        return new Builder(graph);
+    }
+
     @Framer
     public static final class ProgrammerFramer
             implements IFramer<Vertex, Programmer> {
@@ -73,11 +109,42 @@ public final class Programmer$Impl implements FramedVertex<Programmer>, Programm
         }
 
         public Programmer frame(Vertex v, FramedGraph graph) {
-            return new Programmer$Impl(v, graph);
+            return graph.framesDirectly() ? new Programmer$Impl(v, graph) : graph.frame(v, Programmer.class, Programmer$Impl::new);
         }
 
         public Programmer frameNew(Vertex v, FramedGraph graph) {
             return frame(v, graph);
         }
+
+        public String[] propertyKeys() {
+            return new String[]{"name"};
+        }
+
+        public String[] edgeLabels() {
+            return new String[]{"knows"};
+        }
+    }
+
+    public static final class Builder {
+        private final FramedGraph graph;
+
+        private final Map<String, Object> properties = new LinkedHashMap<>();
+
+        private Builder(FramedGraph graph) {
+            this.graph = graph;
+        }
+
+        public Builder experience(Integer experience) {
+            if (experience == null) {
+                this.properties.remove("experience");
+            } else {
+                this.properties.put("experience", experience);
+            }
+            return this;
+        }
+
+        public Programmer create() {
+            return graph.addVertex(Programmer.class, FrameHelper.keyValues(properties));
+        }
     }
 }
\ No newline at end of file